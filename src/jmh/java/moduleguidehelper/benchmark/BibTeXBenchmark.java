@@ -0,0 +1,186 @@
+package moduleguidehelper.benchmark;
+
+import java.io.*;
+import java.math.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import moduleguidehelper.io.*;
+import moduleguidehelper.model.bibtex.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BibTeXBenchmark {
+
+    private static BibTeXTokenType classifyWithCharacterMethods(final char c) {
+        if (Character.isWhitespace(c)) {
+            return BibTeXTokenType.WHITESPACE;
+        }
+        switch (c) {
+        case '@':
+            return BibTeXTokenType.AT;
+        case ',':
+            return BibTeXTokenType.COMMA;
+        case '=':
+            return BibTeXTokenType.ASSIGN;
+        case '"':
+            return BibTeXTokenType.QUOTE;
+        case '{':
+            return BibTeXTokenType.OPEN_BRACE;
+        case '}':
+            return BibTeXTokenType.CLOSE_BRACE;
+        case '(':
+            return BibTeXTokenType.OPEN_PARENTHESIS;
+        case ')':
+            return BibTeXTokenType.CLOSE_PARENTHESIS;
+        case '#':
+            return BibTeXTokenType.CONCAT;
+        case '_':
+        case '-':
+        case ':':
+            return BibTeXTokenType.IDENTIFIERTEXT;
+        default:
+            if (Character.isLetterOrDigit(c)) {
+                return BibTeXTokenType.IDENTIFIERTEXT;
+            }
+            return BibTeXTokenType.CONTENTTEXT;
+        }
+    }
+
+    private static BibTeXNumber parseNumberWithRegex(final String text) {
+        return text.matches("[1-9]\\d*") ? new BibTeXNumber(new BigInteger(text)) : null;
+    }
+
+    private static String shrinkSpaceWithRegex(final String text) {
+        String result = text;
+        String reduced = result.replaceAll("\\s\\s", " ");
+        while (!result.equals(reduced)) {
+            result = reduced;
+            reduced = result.replaceAll("\\s\\s", " ");
+        }
+        return result;
+    }
+
+    private BibTeXDatabase database;
+
+    @Param({"1000", "10000"})
+    private int entries;
+
+    private char[] entry;
+
+    private File literature;
+
+    private File root;
+
+    private String source;
+
+    private String[] texts;
+
+    private String[] words;
+
+    @Benchmark
+    public int classify() {
+        int result = 0;
+        for (final char c : this.entry) {
+            result += BibTeXTokenStream.getType(c).ordinal();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int classifyWithCharacterMethods() {
+        int result = 0;
+        for (final char c : this.entry) {
+            result += BibTeXBenchmark.classifyWithCharacterMethods(c).ordinal();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public String format() throws IOException {
+        final StringWriter writer = new StringWriter();
+        new BibTeXFormatter().format(this.database, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public BibTeXDatabase parse() throws IOException {
+        return BibTeXParser.parse(new StringReader(this.source));
+    }
+
+    @Benchmark
+    public BibTeXDatabase parseFile() throws IOException {
+        return BibTeXParser.parse(this.literature);
+    }
+
+    @Benchmark
+    public int parseNumbers() {
+        int result = 0;
+        for (final String word : this.words) {
+            if (BibTeXParser.parseNumber(word) != null) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int parseNumbersWithRegex() {
+        int result = 0;
+        for (final String word : this.words) {
+            if (BibTeXBenchmark.parseNumberWithRegex(word) != null) {
+                result++;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public BibTeXDatabase parseParallel() throws IOException {
+        return BibTeXParser.parseParallel(this.literature);
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        this.root = new CorpusGenerator(0, this.entries).generate(Files.createTempDirectory("bibtex").toFile());
+        this.literature = this.root.toPath().resolve("literature.bib").toFile();
+        this.source = Files.readString(this.literature.toPath());
+        this.database = BibTeXParser.parse(this.literature);
+        final int start = this.source.indexOf("@article");
+        this.entry = this.source.substring(start, this.source.indexOf("\n}", start) + 2).toCharArray();
+        this.texts = this.source.split("\n\n");
+        this.words = this.source.split("[\\s{}\",=#]+");
+    }
+
+    @Benchmark
+    public int shrinkSpace() {
+        int result = 0;
+        for (final String text : this.texts) {
+            result += BibTeXParser.shrinkSpace(text).length();
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int shrinkSpaceWithRegex() {
+        int result = 0;
+        for (final String text : this.texts) {
+            result += BibTeXBenchmark.shrinkSpaceWithRegex(text).length();
+        }
+        return result;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        CorpusGenerator.delete(this.root);
+    }
+
+    @Benchmark
+    public BibTeXTokenStream tokenize() {
+        return BibTeXTokenStream.tokenize(this.entry, this.entry.length);
+    }
+
+}
@@ -0,0 +1,311 @@
+package moduleguidehelper.benchmark;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.equivalence.*;
+
+public class CorpusGenerator {
+
+    public static final long SEED = 4711L;
+
+    private static final String[] ENTRY_TYPES = {"article", "book", "inproceedings", "misc", "techreport"};
+
+    private static final String[] SPECIALIZATIONS = {"Data Science", "IT-Sicherheit", "Software Engineering"};
+
+    private static final String[] WORDS = {
+        "Algorithmen", "Analyse", "Daten", "Entwurf", "Grundlagen", "Informatik", "Logik", "Methoden", "Modelle",
+        "Netze", "Programmierung", "Prozesse", "Sicherheit", "Software", "Systeme", "Theorie", "Verfahren",
+        "\"Agile\"", "C#", "R&D", "50%", "$$\\mathcal{O}(n)$$", "x_1", "{Java}", "~Skript", " "
+    };
+
+    public static void delete(final File root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: CorpusGenerator <root> [modules] [guides] [modules per guide] [entries] [seed]");
+            return;
+        }
+        final int modules = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        final CorpusGenerator generator =
+            new CorpusGenerator(modules, args.length > 4 ? Integer.parseInt(args[4]) : modules * 5)
+            .setGuides(args.length > 2 ? Integer.parseInt(args[2]) : 40)
+            .setModulesPerGuide(args.length > 3 ? Integer.parseInt(args[3]) : 60)
+            .setSeed(args.length > 5 ? Long.parseLong(args[5]) : CorpusGenerator.SEED);
+        final File root = new File(args[0]);
+        root.mkdirs();
+        generator.generate(root);
+    }
+
+    private static String entryKey(final int index) {
+        return String.format("Key%05d", index);
+    }
+
+    private static String guideName(final int index) {
+        return String.format("guide%02d.json", index);
+    }
+
+    private static String moduleID(final int index) {
+        return String.format("M%04d", index);
+    }
+
+    private final int entries;
+
+    private int guides;
+
+    private final int modules;
+
+    private int modulesPerGuide;
+
+    private Random random;
+
+    private long seed;
+
+    public CorpusGenerator(final int modules, final int entries) {
+        this.modules = modules;
+        this.entries = entries;
+        this.guides = 1;
+        this.modulesPerGuide = modules;
+        this.seed = CorpusGenerator.SEED;
+    }
+
+    public File generate(final File root) throws IOException {
+        this.random = new Random(this.seed);
+        final File modulesFolder = root.toPath().resolve("modules").toFile();
+        modulesFolder.mkdirs();
+        for (int i = 0; i < this.modules; i++) {
+            Main.prettyPrint(
+                modulesFolder.toPath().resolve(CorpusGenerator.moduleID(i).toLowerCase() + ".json").toFile(),
+                this.module(i)
+            );
+        }
+        for (int i = 0; i < this.guides; i++) {
+            Main.prettyPrint(root.toPath().resolve(CorpusGenerator.guideName(i)).toFile(), this.guide(i));
+        }
+        Files.writeString(root.toPath().resolve("literature.bib"), this.literature());
+        if (this.modules > 0) {
+            this.writeEquivalenceCheck(root.toPath().resolve("equivalence").toFile());
+        }
+        return root;
+    }
+
+    public CorpusGenerator setGuides(final int guides) {
+        this.guides = guides;
+        return this;
+    }
+
+    public CorpusGenerator setModulesPerGuide(final int modulesPerGuide) {
+        this.modulesPerGuide = modulesPerGuide;
+        return this;
+    }
+
+    public CorpusGenerator setSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    private MetaModuleGuide guide(final int index) {
+        final int size = Math.min(this.modules, this.modulesPerGuide);
+        final List<Integer> pool = IntStream.range(0, this.modules).boxed().collect(Collectors.toList());
+        Collections.shuffle(pool, this.random);
+        final Iterator<Integer> selection = pool.subList(0, size).iterator();
+        final int perSpecialization = size >= 20 ? size / 10 : 0;
+        final int electives = size >= 20 ? size / 10 : 0;
+        final int core = size - 2 * perSpecialization - electives;
+        final int perSemester = Math.max(1, (core + 5) / 6);
+        final List<MetaModule> metas = new ArrayList<MetaModule>();
+        for (int i = 0; i < core; i++) {
+            final boolean halved = this.random.nextInt(5) == 0;
+            metas.add(this.meta(selection.next(), i / perSemester + 1, i % perSemester, halved, null, null));
+        }
+        final List<String> specializations = new ArrayList<String>();
+        for (int i = 0; i < 2 && perSpecialization > 0; i++) {
+            final String specialization =
+                CorpusGenerator.SPECIALIZATIONS[(index + i) % CorpusGenerator.SPECIALIZATIONS.length];
+            specializations.add(specialization);
+            for (int number = 1; number <= perSpecialization; number++) {
+                metas.add(this.meta(selection.next(), number % 2 == 0 ? 6 : 5, null, false, specialization, number));
+            }
+        }
+        for (int i = 0; i < electives; i++) {
+            metas.add(this.meta(selection.next(), 6, null, false, Main.ELECTIVE, i / 2 + 1));
+        }
+        return new MetaModuleGuide(
+            index % 2 == 0 ? "Informatik" : "Wirtschaftsinformatik",
+            index % 3 == 2 ? "Master of Science" : "Bachelor of Science",
+            index % 4 == 3 ? CurriculumMode.FULLTIME : CurriculumMode.DUAL,
+            SemesterType.SEMESTER,
+            String.valueOf(2020 + index % 6),
+            1 + index % 4,
+            index % 4 == 3 ? null : 1 + index % 2,
+            index % 5 == 4 ? Language.ENGLISH : Language.GERMAN,
+            List.of(perSemester / 2),
+            List.of(),
+            Signature.values()[index % Signature.values().length],
+            specializations,
+            metas
+        );
+    }
+
+    private List<String> keys(final int count) {
+        final List<String> result = new ArrayList<String>();
+        for (int i = 0; i < count && this.entries > 0; i++) {
+            result.add(CorpusGenerator.entryKey(this.random.nextInt(this.entries)));
+        }
+        return result;
+    }
+
+    private String literature() {
+        final StringBuilder result = new StringBuilder();
+        result.append("% generated literature\n\n@string{pub = {Verlag f{\\\"u}r Informatik}}\n\n");
+        for (int i = 0; i < this.entries; i++) {
+            if (this.random.nextInt(50) == 0) {
+                result.append(String.format("@comment{%s}\n\n", this.words(6)));
+            }
+            final String type = CorpusGenerator.ENTRY_TYPES[this.random.nextInt(CorpusGenerator.ENTRY_TYPES.length)];
+            result.append(String.format("@%s{%s,\n", type, CorpusGenerator.entryKey(i)));
+            result.append(String.format("  author = {%s and %s},\n", this.words(2), this.words(2)));
+            result.append(String.format("  title = {{%s}: %s},\n", this.words(2), this.words(6)));
+            result.append("  publisher = pub # { Berlin},\n");
+            result.append(String.format("  year = %d,\n", 1970 + this.random.nextInt(55)));
+            result.append(String.format("  pages = \"%d--%d\",\n", i, i + this.random.nextInt(300)));
+            result.append(String.format("  note = {%s\n    %s}\n}\n\n", this.words(8), this.words(8)));
+        }
+        return result.toString();
+    }
+
+    private MetaModule meta(
+        final int module,
+        final int semester,
+        final Integer position,
+        final boolean halved,
+        final String specialization,
+        final Integer number
+    ) {
+        return new MetaModule(
+            CorpusGenerator.moduleID(module),
+            semester,
+            null,
+            position,
+            specialization == null ? "Pflicht" : Main.ELECTIVE,
+            semester % 2 == 0 ? "jedes Sommersemester" : "jedes Wintersemester",
+            halved ? 3 : 6,
+            1,
+            null,
+            halved ? "0.5" : null,
+            halved ? "0.5" : null,
+            halved ? "0.5" : null,
+            specialization,
+            number
+        );
+    }
+
+    private RawModule module(final int index) {
+        final List<Chapter> content = new ArrayList<Chapter>();
+        final int chapters = 4 + this.random.nextInt(4);
+        for (int i = 0; i < chapters; i++) {
+            content.add(new Chapter(this.words(3), this.sentences(this.random.nextInt(4))));
+        }
+        final List<String> preconditions = new ArrayList<String>();
+        final int preconditionCount = index == 0 ? 0 : this.random.nextInt(3);
+        for (int i = 0; i < preconditionCount; i++) {
+            preconditions.add(CorpusGenerator.moduleID(this.random.nextInt(index)));
+        }
+        final List<String> requiredLiterature = this.keys(2);
+        requiredLiterature.add("!Skript zur Veranstaltung");
+        return new RawModule(
+            this.words(3),
+            "Prof. Dr. " + this.words(1),
+            List.of(this.words(1), this.words(1)),
+            index % 7 == 6 ? Language.ENGLISH : Language.GERMAN,
+            index % 11 == 10 ? List.of(Language.ENGLISH) : null,
+            Language.GERMAN,
+            6,
+            60,
+            120,
+            "Klausur (120 Minuten)",
+            this.sentences(5),
+            preconditions,
+            List.of(),
+            List.of("Informatik (B.Sc.)"),
+            this.words(12),
+            this.sentences(6),
+            List.of("Vorlesung", "Übung"),
+            this.words(10),
+            content,
+            requiredLiterature,
+            this.keys(3),
+            null
+        );
+    }
+
+    private List<String> sentences(final int count) {
+        final List<String> result = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            result.add(this.words(4 + this.random.nextInt(12)));
+        }
+        return result;
+    }
+
+    private List<Source> sources() {
+        final List<Source> result = new ArrayList<Source>();
+        for (final String key : this.keys(2)) {
+            result.add(new Source(key, String.format("S. %d", 1 + this.random.nextInt(400))));
+        }
+        return result;
+    }
+
+    private String words(final int count) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                result.append(' ');
+            }
+            result.append(CorpusGenerator.WORDS[this.random.nextInt(CorpusGenerator.WORDS.length)]);
+        }
+        return result.toString();
+    }
+
+    private void writeEquivalenceCheck(final File directory) throws IOException {
+        directory.mkdirs();
+        final List<ModuleCheck> ourModules = new ArrayList<ModuleCheck>();
+        final ForeignModuleList theirModules = new ForeignModuleList();
+        final MatchList matches = new MatchList();
+        for (int i = 0; i < Math.min(this.modules, 12); i++) {
+            final String ourID = CorpusGenerator.moduleID(i);
+            final String theirID = String.format("F%02d", i);
+            ourModules.add(new ModuleCheck(ourID, "2025-01-01", null, this.sources(), i % 3 != 0, 1 + i % 4));
+            theirModules.add(
+                new ForeignModule(theirID, this.words(3), 150, this.sentences(4), this.words(2), this.sources())
+            );
+            matches.add(new Match(ourID, theirID, 90 + 30 * (i % 3), new TreeMap<Integer, Integer>(Map.of(0, 0, 1, 2))));
+        }
+        Main.prettyPrint(
+            directory.toPath().resolve("check.json").toFile(),
+            new EquivalenceCheckRaw(
+                "Bachelor of Science Informatik",
+                "Fachinformatiker für Anwendungsentwicklung",
+                "2025-01-01",
+                "comments.txt",
+                ourModules,
+                "theirmodules.json",
+                "matches.json",
+                List.of(this.words(6), this.words(6))
+            )
+        );
+        Main.prettyPrint(directory.toPath().resolve("theirmodules.json").toFile(), theirModules);
+        Main.prettyPrint(directory.toPath().resolve("matches.json").toFile(), matches);
+        Files.writeString(directory.toPath().resolve("comments.txt"), String.join("\n", this.sentences(3)));
+    }
+
+}
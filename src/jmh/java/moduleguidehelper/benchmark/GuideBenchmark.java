@@ -0,0 +1,89 @@
+package moduleguidehelper.benchmark;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.io.*;
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.Module;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GuideBenchmark {
+
+    private ModuleGuide guide;
+
+    @Param({"100", "1000"})
+    private int modules;
+
+    private ModuleRepository repository;
+
+    private File root;
+
+    private List<String> texts;
+
+    @Benchmark
+    public ModuleOverview createOverview() {
+        return ModuleOverviewBuilder.create(this.guide);
+    }
+
+    @Benchmark
+    public void escapeForLaTeX(final Blackhole blackhole) {
+        for (final String text : this.texts) {
+            blackhole.consume(ModuleGuideLaTeXWriter.escapeForLaTeX(text));
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        Main.LOGGER.setLevel(Level.OFF);
+        this.root =
+            new CorpusGenerator(this.modules, this.modules * 3).generate(Files.createTempDirectory("guide").toFile());
+        this.repository = new ModuleRepository(this.root.toPath().resolve("modules").toFile());
+        this.guide = Main.parseModuleGuide(this.root.toPath().resolve("guide00.json").toFile(), this.repository);
+        this.texts = new ArrayList<String>();
+        for (final Module module : this.guide.modules()) {
+            final RawModule raw = module.module();
+            this.texts.add(raw.title());
+            this.texts.add(raw.competenciespreface());
+            this.texts.addAll(raw.competencies());
+            this.texts.addAll(raw.keywords());
+            for (final Chapter chapter : raw.content()) {
+                this.texts.add(chapter.chapter());
+                this.texts.addAll(chapter.sections());
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        CorpusGenerator.delete(this.root);
+    }
+
+    @Benchmark
+    public String write() throws IOException {
+        return this.write(false);
+    }
+
+    @Benchmark
+    public String writeParallel() throws IOException {
+        return this.write(true);
+    }
+
+    private String write(final boolean parallel) throws IOException {
+        final StringWriter content = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(content)) {
+            new ModuleGuideLaTeXWriter(this.guide).setParallel(parallel).write(this.repository, writer);
+        }
+        return content.toString();
+    }
+
+}
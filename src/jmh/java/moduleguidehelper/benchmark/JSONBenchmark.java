@@ -0,0 +1,53 @@
+package moduleguidehelper.benchmark;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import com.google.gson.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JSONBenchmark {
+
+    private List<String> jsons;
+
+    @Param({"100", "1000"})
+    private int modules;
+
+    private Gson reflective;
+
+    @Benchmark
+    public void readModules(final Blackhole blackhole) {
+        for (final String json : this.jsons) {
+            blackhole.consume(Main.GSON.fromJson(json, RawModule.class));
+        }
+    }
+
+    @Benchmark
+    public void readModulesReflective(final Blackhole blackhole) {
+        for (final String json : this.jsons) {
+            blackhole.consume(this.reflective.fromJson(json, RawModule.class));
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        final File root = new CorpusGenerator(this.modules, 0).generate(Files.createTempDirectory("json").toFile());
+        this.jsons = new ArrayList<String>();
+        for (final File json : root.toPath().resolve("modules").toFile().listFiles()) {
+            this.jsons.add(Files.readString(json.toPath()));
+        }
+        CorpusGenerator.delete(root);
+        this.reflective = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    }
+
+}
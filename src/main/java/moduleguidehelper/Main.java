@@ -4,12 +4,14 @@ import java.io.*;
 import java.lang.reflect.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.logging.*;
 
 import com.google.gson.*;
 import com.google.gson.stream.*;
 
 import clit.*;
+import moduleguidehelper.events.*;
 import moduleguidehelper.io.*;
 import moduleguidehelper.model.*;
 import moduleguidehelper.model.Module;
@@ -19,9 +21,16 @@ import moduleguidehelper.view.*;
 
 public class Main {
 
+    public static final String CACHE = ".mgh-cache";
+
     public static final String ELECTIVE = "Wahlpflicht";
 
-    public static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+    public static final Gson GSON =
+        new GsonBuilder()
+        .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+        .setPrettyPrinting()
+        .disableHtmlEscaping()
+        .create();
 
     public static String lineSeparator = "\n";
 
@@ -29,22 +38,36 @@ public class Main {
 
     public static final String SINGLE_PDFS = "singlepdfs";
 
-    private static final String VERSION = "4.3.0";
+    public static final String VERSION = "4.3.0";
+
+    private static final ExecutorService MODULE_LOADER = Main.createModuleLoader();
 
-    public static Process buildAndStartBiberProcess(final String fileName, final File directory) throws IOException {
+    private static final int MODULE_LOADERS = 16;
+
+    public static ProcessBuilder buildBiberProcess(
+        final String fileName,
+        final File directory,
+        final File outputDirectory
+    ) {
         return new ProcessBuilder(
             "biber",
+            "--output-directory=" + outputDirectory.getAbsolutePath(),
             fileName
-        ).inheritIO().directory(directory).start();
+        ).inheritIO().directory(directory);
     }
 
-    public static Process buildAndStartPDFLaTeXProcess(final String fileName, final File directory) throws IOException {
+    public static ProcessBuilder buildPDFLaTeXProcess(
+        final String fileName,
+        final File directory,
+        final File outputDirectory
+    ) {
         return new ProcessBuilder(
             "pdflatex",
+            "-output-directory=" + outputDirectory.getAbsolutePath(),
             fileName,
             "-interaction=nonstopmode",
             "-halt-on-error"
-        ).inheritIO().directory(directory).start();
+        ).inheritIO().directory(directory);
     }
 
     public static void compileAllModules(final File root) throws IOException {
@@ -53,50 +76,122 @@ public class Main {
         if (!singleModulesDirectory.exists()) {
             singleModulesDirectory.mkdir();
         }
-        final File modules = root.toPath().resolve("modules").toFile();
-        for (final File json : modules.listFiles()) {
+        final File modulesFolder = root.toPath().resolve("modules").toFile();
+        final ModuleRepository modules = ModuleRepository.open(modulesFolder);
+        final BuildManifest manifest = BuildManifest.load(root);
+        final BuildInputs inputs = new BuildInputs(modules, root.toPath().resolve("literature.bib").toFile());
+        for (final File json : modulesFolder.listFiles()) {
             if ("schema.json".equals(json.getName())) {
                 continue;
             }
             final String id = json.getName().substring(0, json.getName().length() - 5);
             final File moduleTeXFile = singleModulesDirectory.toPath().resolve(id + ".tex").toFile();
-            Main.compileSingleModule(id, json, Optional.empty(), modules, moduleTeXFile);
+            final String fingerprint = inputs.forModule(id);
+            if (manifest.isUpToDate(moduleTeXFile, fingerprint)) {
+                continue;
+            }
+            Main.compileSingleModule(id, Optional.empty(), modules, moduleTeXFile);
+            manifest.update(moduleTeXFile, fingerprint);
         }
+        manifest.save();
+        modules.saveSnapshot();
     }
 
     public static void compileModuleGuide(
         final File guideFile,
-        final File modulesFolder,
-        final File outputFile
+        final ModuleRepository modules,
+        final File outputFile,
+        final boolean parallel
     ) throws IOException {
-        final ModuleGuide guide = Main.parseModuleGuide(guideFile, modulesFolder);
+        final GuideWritten event = new GuideWritten();
+        event.begin();
+        final ModuleGuide guide = Main.parseModuleGuide(guideFile, modules);
+        final StringWriter content = new StringWriter();
         try (
-            BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile))
+            BufferedWriter writer = new BufferedWriter(content)
         ) {
-            new ModuleGuideLaTeXWriter(guide).write(modulesFolder, writer);
+            new ModuleGuideLaTeXWriter(guide).setParallel(parallel).write(modules, writer);
+        }
+        final String text = content.toString();
+        event.changed = OutputFiles.writeIfChanged(outputFile, text);
+        event.end();
+        if (event.shouldCommit()) {
+            event.guide = guideFile.getPath();
+            event.output = outputFile.getPath();
+            event.modules = guide.modules().size();
+            event.characters = text.length();
+            event.commit();
         }
     }
 
+    public static int compileModuleGuides(final File root, final boolean parallel) throws IOException {
+        final ModuleRepository modules = ModuleRepository.open(root.toPath().resolve("modules").toFile());
+        final List<File> guides =
+            Arrays.stream(root.listFiles()).filter(file -> file.getName().endsWith(".json")).sorted().toList();
+        final ExecutorService executor =
+            Executors.newFixedThreadPool(
+                Math.min(Runtime.getRuntime().availableProcessors(), Math.max(1, guides.size()))
+            );
+        int failures = 0;
+        try {
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (final File guide : guides) {
+                final String fileName = guide.getName().substring(0, guide.getName().length() - 5);
+                final File texFile = root.toPath().resolve(fileName + ".tex").toFile();
+                futures.add(executor.submit(() -> {
+                    Main.compileModuleGuide(guide, modules, texFile, parallel);
+                    return null;
+                }));
+            }
+            final Iterator<File> guideIterator = guides.iterator();
+            for (final Future<?> future : futures) {
+                final File guide = guideIterator.next();
+                try {
+                    future.get();
+                    System.out.println(String.format("%s: OK", guide.getName()));
+                } catch (final ExecutionException e) {
+                    if (e.getCause() instanceof final Error error) {
+                        throw error;
+                    }
+                    failures++;
+                    System.out.println(String.format("%s: FAILED (%s)", guide.getName(), e.getCause().getMessage()));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(String.format("Interrupted while compiling %s!", guide));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        modules.saveSnapshot();
+        System.out.println(
+            String.format("Compiled %d of %d module guides.", guides.size() - failures, guides.size())
+        );
+        return failures;
+    }
+
     public static void compileSingleModule(
         final String id,
-        final File json,
         final Optional<String> optionalResponsible,
-        final File modules,
+        final ModuleRepository modules,
         final File moduleTeXFile
     ) throws IOException {
+        final File json = modules.getFile(id);
         final RawModule module;
-        try (FileReader moduleReader = new FileReader(json)) {
-            module = Main.GSON.fromJson(moduleReader, RawModule.class);
+        try {
+            module = modules.get(id);
         } catch (final MalformedJsonException | JsonSyntaxException e) {
             Main.LOGGER.log(Level.SEVERE, json.getAbsolutePath());
             throw new IOException(String.format("%s: %s", json.getAbsolutePath(), e.getMessage()), e);
         }
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(moduleTeXFile))) {
+        final StringWriter content = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(content)) {
             ModuleGuideLaTeXWriter.writeModule(id.toUpperCase(), module, optionalResponsible, 180, modules, writer);
         }
+        OutputFiles.writeIfChanged(moduleTeXFile, content.toString());
     }
 
-    public static void equivalenceCheck(final File checkFile, final File moduleFolder) throws IOException {
+    public static void equivalenceCheck(final File checkFile, final ModuleRepository modules) throws IOException {
         EquivalenceCheckRaw checkRaw;
         try (Reader reader = new FileReader(checkFile)) {
             checkRaw = Main.GSON.fromJson(reader, EquivalenceCheckRaw.class);
@@ -115,7 +210,7 @@ public class Main {
                 check.theirqualification(),
                 check.ourqualification(),
                 Files.readAllLines(directory.toPath().resolve(check.comments())),
-                new OwnModuleParser().apply(check, moduleFolder),
+                new OwnModuleParser().apply(check, modules),
                 check.theirmodules(),
                 check.matches(),
                 check.requirements()
@@ -141,73 +236,93 @@ public class Main {
             System.out.println(mode.parameters);
             return;
         }
-        switch (mode) {
-        case EQUIVALENCE_CHECK:
-            Main.equivalenceCheck(new File(options.get(Flag.EQUIVALENCE_CHECK)), new File(options.get(Flag.MODULES)));
-            break;
-        case MODULE_GUIDE:
-            Main.LOGGER.setLevel(Level.SEVERE);
-            Main.compileModuleGuide(
-                new File(options.get(Flag.GUIDE)),
-                new File(options.get(Flag.MODULES)),
-                new File(options.get(Flag.OUTPUT))
-            );
-            break;
-        case PRETTY:
-            Main.prettyPrintJSONsAndBIBs(new File(options.get(Flag.ROOT)));
-            break;
-        case QUARTERLY_OVERVIEW:
-            QuarterlyOverviewWriter.compileQuarterlyOverview(
-                new File(options.get(Flag.ROOT)),
-                new File(options.get(Flag.OUTPUT))
-            );
-            break;
-        case SINGLE_MODULE:
-            final Optional<String> responsible = Main.parseResponsible(options);
-            final File module = new File(options.get(Flag.INPUT));
-            final String id = module.getName().substring(0, module.getName().length() - 5);
-            final File modules = module.getAbsoluteFile().getParentFile();
-            Main.compileSingleModule(id, module, responsible, modules, new File(options.get(Flag.OUTPUT)));
-            break;
-        case SINGLE_MODULES:
-            Main.compileAllModules(new File(options.get(Flag.ROOT)));
-            break;
-        default:
-            System.out.println(ExecutionMode.descriptions());
-            break;
+        if (options.containsKey(Flag.METRICS)) {
+            Metrics.enable();
         }
+        final long start = Metrics.start();
+        int status = 0;
+        try {
+            status = Main.execute(mode, options);
+        } finally {
+            Metrics.stop(Metrics.Phase.TOTAL, start);
+            Metrics.report(options.get(Flag.METRICS));
+        }
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    public static File getCacheDirectory(final File root) throws IOException {
+        final File cache = root.toPath().resolve(Main.CACHE).toFile();
+        if (!cache.exists()) {
+            cache.mkdirs();
+            Files.writeString(cache.toPath().resolve(".gitignore"), "*" + Main.lineSeparator);
+        }
+        return cache;
     }
 
     public static void newLine(final Writer writer) throws IOException {
         writer.write(Main.lineSeparator);
     }
 
-    public static ModuleGuide parseModuleGuide(final File guide, final File modulesFolder) throws IOException {
+    public static ModuleGuide parseModuleGuide(final File guide, final ModuleRepository repository) throws IOException {
+        final long start = System.nanoTime();
         final MetaModuleGuide metaGuide;
-        try (FileReader guideReader = new FileReader(guide)) {
-            metaGuide = Main.GSON.fromJson(guideReader, MetaModuleGuide.class);
+        try {
+            metaGuide = repository.read(guide, MetaModuleGuide.class);
         } catch (RuntimeException | IOException e) {
             throw new IOException(String.format("Exception on module guide %s: %s", guide, e.getMessage()), e);
         }
+        final List<MetaModule> metas = metaGuide.modules().stream().filter(Objects::nonNull).toList();
         final List<Module> modules = new ArrayList<Module>();
-        for (final MetaModule meta : metaGuide.modules()) {
-            if (meta == null) {
-                continue;
+        final List<Future<Module>> futures = new ArrayList<Future<Module>>();
+        try {
+            for (final MetaModule meta : metas) {
+                futures.add(Main.MODULE_LOADER.submit(() -> Main.loadModule(meta, repository)));
             }
-            final File moduleJson = modulesFolder.toPath().resolve(meta.module().toLowerCase() + ".json").toFile();
-            if (!moduleJson.exists()) {
-                Main.LOGGER.log(Level.SEVERE, meta.module() + " is missing!");
-                continue;
+            final Iterator<MetaModule> metaIterator = metas.iterator();
+            for (final Future<Module> future : futures) {
+                final MetaModule meta = metaIterator.next();
+                final Module module;
+                try {
+                    module = future.get();
+                } catch (final ExecutionException e) {
+                    if (e.getCause() instanceof final Error error) {
+                        throw error;
+                    }
+                    throw new IOException(
+                        String.format(
+                            "Exception on module %s: %s",
+                            repository.getFile(meta.module()).getPath(),
+                            e.getCause().getMessage()
+                        ),
+                        e.getCause()
+                    );
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(String.format("Interrupted while loading %s!", guide));
+                }
+                if (module == null) {
+                    Main.LOGGER.log(Level.SEVERE, meta.module() + " is missing!");
+                    continue;
+                }
+                modules.add(module);
             }
-            try (FileReader moduleReader = new FileReader(moduleJson)) {
-                modules.add(new Module(meta, Main.GSON.fromJson(moduleReader, RawModule.class)));
-            } catch (RuntimeException | IOException e) {
-                throw new IOException(
-                    String.format("Exception on module %s: %s", moduleJson.getPath(), e.getMessage()),
-                    e
-                );
+        } finally {
+            for (final Future<Module> future : futures) {
+                future.cancel(true);
             }
         }
+        Main.LOGGER.log(
+            Level.FINE,
+            String.format(
+                "Loaded %d modules for %s in %d ms.",
+                modules.size(),
+                guide,
+                (System.nanoTime() - start) / 1_000_000
+            )
+        );
+        Metrics.stop(Metrics.Phase.GUIDE, start);
         return new ModuleGuide(
             metaGuide.subject(),
             metaGuide.degree(),
@@ -226,32 +341,34 @@ public class Main {
     }
 
     public static void prettyPrint(final File json, final Object object) throws IOException {
-        try (JsonWriter writer = new JsonWriter(new FileWriter(json))) {
+        final StringWriter content = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(content)) {
             writer.setIndent("    ");
             writer.setSerializeNulls(false);
             Main.GSON.toJson(object, object.getClass(), writer);
         }
+        OutputFiles.writeIfChanged(json, content.toString());
     }
 
     public static void prettyPrintJSONsAndBIBs(final File root) throws IOException {
         Main.LOGGER.setLevel(Level.FINE);
-        final File modules = root.toPath().resolve("modules").toFile();
+        final File modulesFolder = root.toPath().resolve("modules").toFile();
+        final ModuleRepository modules = new ModuleRepository(modulesFolder);
         final File literature = root.toPath().resolve("literature.bib").toFile();
         final BibTeXDatabase db;
-        try (final FileReader reader = new FileReader(literature)) {
-            db = BibTeXParser.parse(reader);
+        try {
+            db = BibTeXParser.parseParallel(literature);
         } catch (final IOException e) {
             Main.LOGGER.log(Level.SEVERE, e.getMessage());
             throw new IOException(e);
         }
-        try (final FileWriter writer = new FileWriter(literature)) {
-            final BibTeXFormatter formatter = new BibTeXFormatter();
-            formatter.format(db, writer);
-        }
-        for (final File json : modules.listFiles()) {
+        final StringWriter formatted = new StringWriter();
+        new BibTeXFormatter().format(db, formatted);
+        OutputFiles.writeIfChanged(literature, formatted.toString());
+        for (final File json : modulesFolder.listFiles()) {
             final RawModule module;
-            try (FileReader moduleReader = new FileReader(json)) {
-                module = Main.GSON.fromJson(moduleReader, RawModule.class);
+            try {
+                module = modules.get(json.getName().substring(0, json.getName().length() - 5));
             } catch (final MalformedJsonException | JsonSyntaxException e) {
                 Main.LOGGER.log(Level.SEVERE, json.getAbsolutePath());
                 throw new IOException(String.format("%s: %s", json.getAbsolutePath(), e.getMessage()), e);
@@ -263,9 +380,11 @@ public class Main {
                 continue;
             }
             final ModuleGuide guide = Main.parseModuleGuide(json, modules);
-            try (Writer writer = new BufferedWriter(new FileWriter(json))) {
+            final StringWriter content = new StringWriter();
+            try (Writer writer = new BufferedWriter(content)) {
                 ModuleGuidePrettyPrinter.prettyPrint(guide, writer);
             }
+            OutputFiles.writeIfChanged(json, content.toString());
         }
     }
 
@@ -276,6 +395,100 @@ public class Main {
         ).setVisible(true);
     }
 
+    private static ExecutorService createModuleLoader() {
+        final ThreadPoolExecutor result =
+            new ThreadPoolExecutor(
+                Main.MODULE_LOADERS,
+                Main.MODULE_LOADERS,
+                1,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "module-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            );
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    private static int execute(final ExecutionMode mode, final Parameters<Flag> options) throws IOException {
+        switch (mode) {
+        case CITATIONS:
+            final CitationReport report =
+                CitationValidator.validate(
+                    new File(options.get(Flag.ROOT)),
+                    options.containsKey(Flag.EQUIVALENCE_CHECK) ?
+                        Optional.of(new File(options.get(Flag.EQUIVALENCE_CHECK))) :
+                            Optional.empty()
+                );
+            System.out.println(report.describe());
+            return report.exitStatus();
+        case EQUIVALENCE_CHECK:
+            Main.equivalenceCheck(
+                new File(options.get(Flag.EQUIVALENCE_CHECK)),
+                new ModuleRepository(new File(options.get(Flag.MODULES)))
+            );
+            break;
+        case MODULE_GUIDE:
+            Main.LOGGER.setLevel(Level.SEVERE);
+            final ModuleRepository guideModules = ModuleRepository.open(new File(options.get(Flag.MODULES)));
+            Main.compileModuleGuide(
+                new File(options.get(Flag.GUIDE)),
+                guideModules,
+                new File(options.get(Flag.OUTPUT)),
+                !options.containsKey(Flag.SEQUENTIAL)
+            );
+            guideModules.saveSnapshot();
+            break;
+        case MODULE_GUIDES:
+            Main.LOGGER.setLevel(Level.SEVERE);
+            return Main.compileModuleGuides(
+                new File(options.get(Flag.ROOT)),
+                !options.containsKey(Flag.SEQUENTIAL)
+            ) == 0 ? 0 : 1;
+        case PRETTY:
+            Main.prettyPrintJSONsAndBIBs(new File(options.get(Flag.ROOT)));
+            break;
+        case QUARTERLY_OVERVIEW:
+            QuarterlyOverviewWriter.compileQuarterlyOverview(
+                new File(options.get(Flag.ROOT)),
+                new File(options.get(Flag.OUTPUT))
+            );
+            break;
+        case SINGLE_MODULE:
+            final Optional<String> responsible = Main.parseResponsible(options);
+            final File module = new File(options.get(Flag.INPUT));
+            final String id = module.getName().substring(0, module.getName().length() - 5);
+            final ModuleRepository modules = ModuleRepository.open(module.getAbsoluteFile().getParentFile());
+            Main.compileSingleModule(id, responsible, modules, new File(options.get(Flag.OUTPUT)));
+            modules.saveSnapshot();
+            break;
+        case SINGLE_MODULES:
+            Main.compileAllModules(new File(options.get(Flag.ROOT)));
+            break;
+        default:
+            System.out.println(ExecutionMode.descriptions());
+            break;
+        }
+        return 0;
+    }
+
+    private static Module loadModule(final MetaModule meta, final ModuleRepository repository) throws IOException {
+        final ModuleParsed event = new ModuleParsed();
+        event.begin();
+        event.module = meta.module();
+        if (!repository.contains(meta.module())) {
+            event.commit();
+            return null;
+        }
+        final Module module = new Module(meta, repository.get(meta.module()));
+        event.found = true;
+        event.commit();
+        return module;
+    }
+
     private static Optional<String> parseResponsible(final Parameters<Flag> options) {
         if (options.containsKey(Flag.KEYVALUES)) {
             final String[] split = options.get(Flag.KEYVALUES).split(";");
@@ -0,0 +1,20 @@
+package moduleguidehelper.events;
+
+import jdk.jfr.*;
+
+@Name("moduleguidehelper.BibParsed")
+@Label("BibTeX Parsed")
+@Category("Module Guide Helper")
+@Description("Parsing of a BibTeX file.")
+public class BibParsed extends Event {
+
+    @Label("File")
+    public String file;
+
+    @Label("Objects")
+    public int objects;
+
+    @Label("Parallel")
+    public boolean parallel;
+
+}
@@ -0,0 +1,42 @@
+package moduleguidehelper.events;
+
+import java.io.*;
+import java.util.concurrent.*;
+
+import jdk.jfr.*;
+
+@Name("moduleguidehelper.ExternalProcess")
+@Label("External Process")
+@Category("Module Guide Helper")
+@Description("Run of an external program like pdflatex, biber or git.")
+public class ExternalProcess extends Event {
+
+    public static Process run(
+        final ProcessBuilder builder,
+        final long timeout,
+        final TimeUnit unit
+    ) throws IOException, InterruptedException {
+        final ExternalProcess event = new ExternalProcess();
+        event.begin();
+        final Process process = builder.start();
+        final boolean finished = process.waitFor(timeout, unit);
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = String.join(" ", builder.command());
+            event.exitCode = finished ? process.exitValue() : -1;
+            event.timedOut = !finished;
+            event.commit();
+        }
+        return process;
+    }
+
+    @Label("Command")
+    public String command;
+
+    @Label("Exit Code")
+    public int exitCode;
+
+    @Label("Timed Out")
+    public boolean timedOut;
+
+}
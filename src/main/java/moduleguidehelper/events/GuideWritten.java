@@ -0,0 +1,26 @@
+package moduleguidehelper.events;
+
+import jdk.jfr.*;
+
+@Name("moduleguidehelper.GuideWritten")
+@Label("Guide Written")
+@Category("Module Guide Helper")
+@Description("Compilation of a module guide into a TeX file.")
+public class GuideWritten extends Event {
+
+    @Label("Changed")
+    public boolean changed;
+
+    @Label("Characters")
+    public long characters;
+
+    @Label("Guide")
+    public String guide;
+
+    @Label("Modules")
+    public int modules;
+
+    @Label("Output")
+    public String output;
+
+}
@@ -0,0 +1,17 @@
+package moduleguidehelper.events;
+
+import jdk.jfr.*;
+
+@Name("moduleguidehelper.ModuleParsed")
+@Label("Module Parsed")
+@Category("Module Guide Helper")
+@Description("Loading of a module referenced by a module guide.")
+public class ModuleParsed extends Event {
+
+    @Label("Found")
+    public boolean found;
+
+    @Label("Module")
+    public String module;
+
+}
@@ -0,0 +1,14 @@
+package moduleguidehelper.events;
+
+import jdk.jfr.*;
+
+@Name("moduleguidehelper.ModuleRendered")
+@Label("Module Rendered")
+@Category("Module Guide Helper")
+@Description("Rendering of a single module as LaTeX.")
+public class ModuleRendered extends Event {
+
+    @Label("Module")
+    public String module;
+
+}
@@ -57,6 +57,16 @@ public class BibTeXFormatter {
         }
     }
 
+    public void format(final BibTeXStreamParser parser, final Writer writer) throws IOException {
+        if (this.sort) {
+            this.format(BibTeXParser.parse(parser), writer);
+            return;
+        }
+        for (BibTeXObject object = parser.next(); object != null; object = parser.next()) {
+            object.format(this, writer);
+        }
+    }
+
     public void format(final BibTeXEntry entry, final Writer writer) throws IOException {
         writer.write("@");
         switch (this.commandFormat) {
@@ -3,131 +3,220 @@ package moduleguidehelper.io;
 import java.io.*;
 import java.math.*;
 import java.util.*;
-import java.util.stream.*;
 
+import moduleguidehelper.events.*;
 import moduleguidehelper.model.bibtex.*;
 
 public class BibTeXParser {
 
-    private static record ValueAndToken(BibTeXValue value, BibTeXToken token) {}
+    private static class TokenRange {
 
-    private static final String NUMBER_REGEX = "[1-9]\\d*";
+        private final int end;
 
-    public static BibTeXDatabase parse(final Reader reader) throws IOException {
-        final List<BibTeXToken> tokens = BibTeXParser.tokenize(new CharacterBuffer(reader));
+        private int index;
+
+        private final BibTeXTokenStream tokens;
+
+        private TokenRange(final BibTeXTokenStream tokens, final int index, final int end) {
+            this.tokens = tokens;
+            this.index = index;
+            this.end = end;
+        }
+
+        private boolean hasNext() {
+            return this.index < this.end;
+        }
+
+        private int next() {
+            return this.index++;
+        }
+
+        private int size() {
+            return this.end - this.index;
+        }
+
+    }
+
+    private static record ValueAndToken(BibTeXValue value, int token) {}
+
+    private static final int LONG_DIGITS = 18;
+
+    private static final int NO_TOKEN = -1;
+
+    private static final int PARALLEL_BATCH_CHARACTERS = 1 << 20;
+
+    public static BibTeXDatabase parse(final BibTeXStreamParser parser) throws IOException {
         final BibTeXDatabase result = new BibTeXDatabase();
-        final Iterator<BibTeXToken> iterator = tokens.iterator();
-        final List<BibTeXToken> buffer = new LinkedList<BibTeXToken>();
-        while (iterator.hasNext()) {
-            final BibTeXToken token = iterator.next();
-            if (token.type() == BibTeXTokenType.AT) {
-                if (!buffer.isEmpty() && buffer.stream().anyMatch(t -> t.type() != BibTeXTokenType.WHITESPACE)) {
-                    result.add(new BibTeXFreeComment(BibTeXParser.toString(buffer, false)));
-                }
-                buffer.clear();
-                result.add(BibTeXParser.parseObject(iterator));
-            } else {
-                buffer.add(token);
+        for (BibTeXObject object = parser.next(); object != null; object = parser.next()) {
+            result.add(object);
+        }
+        return result;
+    }
+
+    public static BibTeXDatabase parse(final File file) throws IOException {
+        final long start = Metrics.start();
+        final BibParsed event = new BibParsed();
+        event.begin();
+        try (BibTeXStreamParser parser = new BibTeXStreamParser(file)) {
+            Metrics.count(Metrics.Counter.FILES_READ);
+            final BibTeXDatabase result = BibTeXParser.parse(parser);
+            event.file = file.getPath();
+            event.objects = result.size();
+            event.parallel = false;
+            event.commit();
+            return result;
+        } finally {
+            Metrics.stop(Metrics.Phase.BIBTEX, start);
+        }
+    }
+
+    public static BibTeXDatabase parse(final Reader reader) throws IOException {
+        return BibTeXParser.parse(new BibTeXStreamParser(reader));
+    }
+
+    public static BibTeXNumber parseNumber(final String text) {
+        if (text.isEmpty() || text.charAt(0) < '1' || text.charAt(0) > '9') {
+            return null;
+        }
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
             }
+            value = value * 10 + (c - '0');
+        }
+        if (text.length() > BibTeXParser.LONG_DIGITS) {
+            return new BibTeXNumber(new BigInteger(text));
         }
-        if (!buffer.isEmpty() && buffer.stream().anyMatch(t -> t.type() != BibTeXTokenType.WHITESPACE)) {
-            result.add(new BibTeXFreeComment(BibTeXParser.toString(buffer, false)));
+        return new BibTeXNumber(value);
+    }
+
+    public static BibTeXObject parseObject(final char[] source, final int length) throws IOException {
+        final BibTeXTokenStream tokens = BibTeXTokenStream.tokenize(source, length);
+        return BibTeXParser.parseObject(new TokenRange(tokens, 1, tokens.size()));
+    }
+
+    public static BibTeXDatabase parseParallel(final BibTeXStreamParser parser) throws IOException {
+        return BibTeXParser.parseParallel(parser, BibTeXParser.PARALLEL_BATCH_CHARACTERS);
+    }
+
+    public static BibTeXDatabase parseParallel(final File file) throws IOException {
+        final long start = Metrics.start();
+        final BibParsed event = new BibParsed();
+        event.begin();
+        try (BibTeXStreamParser parser = new BibTeXStreamParser(file)) {
+            Metrics.count(Metrics.Counter.FILES_READ);
+            final BibTeXDatabase result = BibTeXParser.parseParallel(parser);
+            event.file = file.getPath();
+            event.objects = result.size();
+            event.parallel = true;
+            event.commit();
+            return result;
+        } finally {
+            Metrics.stop(Metrics.Phase.BIBTEX, start);
+        }
+    }
+
+    public static String shrinkSpace(final String text) {
+        final StringBuilder result = new StringBuilder(text.length());
+        int i = 0;
+        while (i < text.length()) {
+            final char c = text.charAt(i);
+            if (!BibTeXParser.isRegexWhiteSpace(c)) {
+                result.append(c);
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < text.length() && BibTeXParser.isRegexWhiteSpace(text.charAt(end))) {
+                end++;
+            }
+            result.append(end - i == 1 ? c : ' ');
+            i = end;
+        }
+        return result.toString();
+    }
+
+    static BibTeXDatabase parseParallel(final BibTeXStreamParser parser, final int batchCharacters)
+    throws IOException {
+        final BibTeXDatabase result = new BibTeXDatabase();
+        List<BibTeXObject> batch = parser.next(batchCharacters);
+        while (!batch.isEmpty()) {
+            result.addAll(batch);
+            batch = parser.next(batchCharacters);
         }
         return result;
     }
 
-    private static BibTeXToken forwardWhiteSpace(
-        final Iterator<BibTeXToken> iterator,
-        final String phase
-    ) throws IOException {
-        if (!iterator.hasNext()) {
+    private static int forwardWhiteSpace(final TokenRange range, final String phase) throws IOException {
+        if (!range.hasNext()) {
             throw new IOException(phase + " ended before completion!");
         }
-        final BibTeXToken result = iterator.next();
-        if (result.type() == BibTeXTokenType.WHITESPACE) {
-            if (!iterator.hasNext()) {
+        final int result = range.next();
+        if (range.tokens.type(result) == BibTeXTokenType.WHITESPACE) {
+            if (!range.hasNext()) {
                 throw new IOException(phase + " ended before completion!");
             }
-            return iterator.next();
+            return range.next();
         }
         return result;
     }
 
-    private static BibTeXTokenType getType(final char c, final BibTeXTokenType currentType) {
-        if (Character.isWhitespace(c)) {
-            return BibTeXTokenType.WHITESPACE;
-        }
+    private static boolean isRegexWhiteSpace(final char c) {
         switch (c) {
-        case '@':
-            return BibTeXTokenType.AT;
-        case ',':
-            return BibTeXTokenType.COMMA;
-        case '=':
-            return BibTeXTokenType.ASSIGN;
-        case '"':
-            return BibTeXTokenType.QUOTE;
-        case '{':
-            return BibTeXTokenType.OPEN_BRACE;
-        case '}':
-            return BibTeXTokenType.CLOSE_BRACE;
-        case '(':
-            return BibTeXTokenType.OPEN_PARENTHESIS;
-        case ')':
-            return BibTeXTokenType.CLOSE_PARENTHESIS;
-        case '#':
-            return BibTeXTokenType.CONCAT;
-        case '_':
-        case '-':
-        case ':':
-            return BibTeXTokenType.IDENTIFIERTEXT;
+        case ' ':
+        case '\t':
+        case '\n':
+        case '\u000B':
+        case '\f':
+        case '\r':
+            return true;
         default:
-            if (Character.isLetterOrDigit(c)) {
-                return BibTeXTokenType.IDENTIFIERTEXT;
-            }
-            return BibTeXTokenType.CONTENTTEXT;
+            return false;
         }
     }
 
-    private static List<BibTeXToken> parseBraceExpression(
+    private static TokenRange parseBraceExpression(
         final BibTeXTokenType terminator,
-        final Iterator<BibTeXToken> iterator
+        final TokenRange range
     ) throws IOException {
+        final int start = range.index;
         int nesting = 1;
-        final List<BibTeXToken> result = new LinkedList<BibTeXToken>();
         while (true) {
-            if (!iterator.hasNext()) {
+            if (!range.hasNext()) {
                 throw new IOException("Brace expression ended before completion!");
             }
-            final BibTeXToken token = iterator.next();
-            if (token.type() == BibTeXTokenType.OPEN_BRACE) {
+            final int token = range.next();
+            final BibTeXTokenType type = range.tokens.type(token);
+            if (type == BibTeXTokenType.OPEN_BRACE) {
                 nesting++;
-            } else if (token.type() == BibTeXTokenType.CLOSE_BRACE) {
+            } else if (type == BibTeXTokenType.CLOSE_BRACE) {
                 nesting--;
                 if (nesting == 0) {
                     if (terminator != BibTeXTokenType.CLOSE_BRACE) {
                         throw new IOException("Braces do not match!");
                     }
-                    break;
+                    return new TokenRange(range.tokens, start, token);
                 }
-            } else if (nesting == 1 && token.type() == terminator) {
-                break;
+            } else if (nesting == 1 && type == terminator) {
+                return new TokenRange(range.tokens, start, token);
             }
-            result.add(token);
         }
-        return result;
     }
 
-    private static BibTeXObject parseObject(final Iterator<BibTeXToken> iterator) throws IOException {
-        if (!iterator.hasNext()) {
+    private static BibTeXObject parseObject(final TokenRange range) throws IOException {
+        final BibTeXTokenStream tokens = range.tokens;
+        if (!range.hasNext()) {
             throw new IOException("Command ended before completion!");
         }
-        final BibTeXToken command = iterator.next();
-        if (!iterator.hasNext()) {
+        final int command = range.next();
+        if (!range.hasNext()) {
             throw new IOException("Command ended before completion!");
         }
-        final BibTeXToken open = iterator.next();
+        final int open = range.next();
         BibTeXTokenType terminator = BibTeXTokenType.CLOSE_PARENTHESIS;
-        switch (open.type()) {
+        switch (tokens.type(open)) {
         case OPEN_BRACE:
             terminator = BibTeXTokenType.CLOSE_BRACE;
         case OPEN_PARENTHESIS:
@@ -135,103 +224,100 @@ public class BibTeXParser {
         default:
             throw new IOException("Command contains illegal characters!");
         }
-        switch (command.type()) {
+        switch (tokens.type(command)) {
         case IDENTIFIERTEXT:
-            switch (command.text().toLowerCase()) {
+            switch (tokens.text(command).toLowerCase()) {
             case "string":
-                final BibTeXToken abbreviation = BibTeXParser.forwardWhiteSpace(iterator, "String");
+                final int abbreviation = BibTeXParser.forwardWhiteSpace(range, "String");
                 if (
-                    abbreviation.type() != BibTeXTokenType.IDENTIFIERTEXT
-                    || !Character.isLetter(abbreviation.text().charAt(0))
+                    tokens.type(abbreviation) != BibTeXTokenType.IDENTIFIERTEXT
+                    || !Character.isLetter(tokens.firstChar(abbreviation))
                 ) {
                     throw new IOException("String identifier contains illegal characters!");
                 }
-                final BibTeXToken assign = BibTeXParser.forwardWhiteSpace(iterator, "String");
-                if (assign.type() != BibTeXTokenType.ASSIGN) {
+                final int assign = BibTeXParser.forwardWhiteSpace(range, "String");
+                if (tokens.type(assign) != BibTeXTokenType.ASSIGN) {
                     throw new IOException("String assignment is not defined correctly!");
                 }
-                final List<BibTeXToken> value = BibTeXParser.parseBraceExpression(terminator, iterator);
-                final Iterator<BibTeXToken> valueIterator = value.iterator();
-                final ValueAndToken parsedValue = BibTeXParser.parseValue(valueIterator);
-                if (valueIterator.hasNext()) {
-                    BibTeXToken token = valueIterator.next();
-                    if (token.type() == BibTeXTokenType.WHITESPACE && valueIterator.hasNext()) {
-                        token = valueIterator.next();
+                final TokenRange value = BibTeXParser.parseBraceExpression(terminator, range);
+                final ValueAndToken parsedValue = BibTeXParser.parseValue(value);
+                if (value.hasNext()) {
+                    int token = value.next();
+                    if (tokens.type(token) == BibTeXTokenType.WHITESPACE && value.hasNext()) {
+                        token = value.next();
                     }
-                    if (token.type() != BibTeXTokenType.WHITESPACE) {
+                    if (tokens.type(token) != BibTeXTokenType.WHITESPACE) {
                         throw new IOException("String value contains content after completion!");
                     }
                 }
-                return new BibTeXString(abbreviation.text(), parsedValue.value());
+                return new BibTeXString(tokens.text(abbreviation), parsedValue.value());
             case "preamble":
-                final List<BibTeXToken> preambleText = BibTeXParser.parseBraceExpression(terminator, iterator);
+                final TokenRange preambleText = BibTeXParser.parseBraceExpression(terminator, range);
                 return new BibTeXPreamble(BibTeXParser.shrinkSpace(BibTeXParser.toString(preambleText, false)));
             case "comment":
-                final List<BibTeXToken> commentText = BibTeXParser.parseBraceExpression(terminator, iterator);
+                final TokenRange commentText = BibTeXParser.parseBraceExpression(terminator, range);
                 return new BibTeXComment(BibTeXParser.toString(commentText, false));
             default:
             }
             // fall through
         case CONTENTTEXT:
-            final BibTeXToken identifier = BibTeXParser.forwardWhiteSpace(iterator, "Entry");
-            if (identifier.type() != BibTeXTokenType.IDENTIFIERTEXT) {
+            final int identifier = BibTeXParser.forwardWhiteSpace(range, "Entry");
+            if (tokens.type(identifier) != BibTeXTokenType.IDENTIFIERTEXT) {
                 throw new IOException("Entry identifier contains illegal characters!");
             }
-            final BibTeXToken comma = BibTeXParser.forwardWhiteSpace(iterator, "Entry");
-            if (comma.type() != BibTeXTokenType.COMMA) {
+            final int comma = BibTeXParser.forwardWhiteSpace(range, "Entry");
+            if (tokens.type(comma) != BibTeXTokenType.COMMA) {
                 throw new IOException("Entry identifier is not terminated by a comma!");
             }
-            final List<BibTeXToken> content = BibTeXParser.parseBraceExpression(terminator, iterator);
-            return new BibTeXEntry(command.text(), identifier.text(), BibTeXParser.parseTags(content));
+            final TokenRange content = BibTeXParser.parseBraceExpression(terminator, range);
+            return new BibTeXEntry(tokens.text(command), tokens.text(identifier), BibTeXParser.parseTags(content));
         default:
             throw new IOException("Command contains illegal characters!");
         }
     }
 
-    private static void parseTags(
-        final Iterator<BibTeXToken> iterator,
-        final Map<String, BibTeXValue> tags
-    ) throws IOException {
-        if (!iterator.hasNext()) {
+    private static void parseTags(final TokenRange range, final Map<String, BibTeXValue> tags) throws IOException {
+        final BibTeXTokenStream tokens = range.tokens;
+        if (!range.hasNext()) {
             return;
         }
-        BibTeXToken identifier = iterator.next();
-        if (identifier.type() == BibTeXTokenType.WHITESPACE) {
-            if (!iterator.hasNext()) {
+        int identifier = range.next();
+        if (tokens.type(identifier) == BibTeXTokenType.WHITESPACE) {
+            if (!range.hasNext()) {
                 return;
             }
-            identifier = iterator.next();
+            identifier = range.next();
         }
-        if (identifier.type() != BibTeXTokenType.IDENTIFIERTEXT) {
+        if (tokens.type(identifier) != BibTeXTokenType.IDENTIFIERTEXT) {
             throw new IOException("Tag identifier contains illegal characters!");
         }
-        final BibTeXToken assign = BibTeXParser.forwardWhiteSpace(iterator, "Tag");
-        if (assign.type() != BibTeXTokenType.ASSIGN) {
+        final int assign = BibTeXParser.forwardWhiteSpace(range, "Tag");
+        if (tokens.type(assign) != BibTeXTokenType.ASSIGN) {
             throw new IOException("Tag definition is missing assignment!");
         }
-        final ValueAndToken value = BibTeXParser.parseValue(iterator);
-        tags.put(identifier.text(), value.value());
-        if (iterator.hasNext()) {
-            if (value.token() == null) {
-                BibTeXToken next = iterator.next();
-                if (next.type() == BibTeXTokenType.WHITESPACE && iterator.hasNext()) {
-                    next = iterator.next();
+        final ValueAndToken value = BibTeXParser.parseValue(range);
+        tags.put(tokens.text(identifier), value.value());
+        if (range.hasNext()) {
+            if (value.token() == BibTeXParser.NO_TOKEN) {
+                int next = range.next();
+                if (tokens.type(next) == BibTeXTokenType.WHITESPACE && range.hasNext()) {
+                    next = range.next();
                 }
-                if (next.type() == BibTeXTokenType.COMMA) {
-                    BibTeXParser.parseTags(iterator, tags);
-                } else if (next.type() != BibTeXTokenType.WHITESPACE || iterator.hasNext()) {
+                if (tokens.type(next) == BibTeXTokenType.COMMA) {
+                    BibTeXParser.parseTags(range, tags);
+                } else if (tokens.type(next) != BibTeXTokenType.WHITESPACE || range.hasNext()) {
                     throw new IOException("Content after tag not separated by comma!");
                 }
             } else {
-                switch (value.token().type()) {
+                switch (tokens.type(value.token())) {
                 case COMMA:
-                    BibTeXParser.parseTags(iterator, tags);
+                    BibTeXParser.parseTags(range, tags);
                     break;
                 case WHITESPACE:
-                    if (iterator.hasNext()) {
-                        final BibTeXToken comma = iterator.next();
-                        if (comma.type() == BibTeXTokenType.COMMA) {
-                            BibTeXParser.parseTags(iterator, tags);
+                    if (range.hasNext()) {
+                        final int comma = range.next();
+                        if (tokens.type(comma) == BibTeXTokenType.COMMA) {
+                            BibTeXParser.parseTags(range, tags);
                         } else {
                             throw new IOException("Content after tag not separated by comma!");
                         }
@@ -244,71 +330,68 @@ public class BibTeXParser {
         }
     }
 
-    private static Map<String, BibTeXValue> parseTags(final List<BibTeXToken> content) throws IOException {
-        if (content.isEmpty() || (content.size() == 1 && content.getFirst().type() == BibTeXTokenType.WHITESPACE)) {
+    private static Map<String, BibTeXValue> parseTags(final TokenRange content) throws IOException {
+        if (
+            content.size() == 0
+            || (content.size() == 1 && content.tokens.type(content.index) == BibTeXTokenType.WHITESPACE)
+        ) {
             return Map.of();
         }
         final Map<String, BibTeXValue> tags = new LinkedHashMap<String, BibTeXValue>();
-        final Iterator<BibTeXToken> iterator = content.iterator();
-        BibTeXParser.parseTags(iterator, tags);
+        BibTeXParser.parseTags(content, tags);
         return tags;
     }
 
-    private static ValueAndToken parseValue(final Iterator<BibTeXToken> iterator) throws IOException {
-        final BibTeXToken start = BibTeXParser.forwardWhiteSpace(iterator, "Value");
-        switch (start.type()) {
+    private static ValueAndToken parseValue(final TokenRange range) throws IOException {
+        final BibTeXTokenStream tokens = range.tokens;
+        final int start = BibTeXParser.forwardWhiteSpace(range, "Value");
+        switch (tokens.type(start)) {
         case IDENTIFIERTEXT:
-            if (iterator.hasNext()) {
-                BibTeXToken next = iterator.next();
-                if (next.type() == BibTeXTokenType.WHITESPACE) {
-                    if (iterator.hasNext()) {
-                        next = iterator.next();
+            final String text = tokens.text(start);
+            if (range.hasNext()) {
+                int next = range.next();
+                if (tokens.type(next) == BibTeXTokenType.WHITESPACE) {
+                    if (range.hasNext()) {
+                        next = range.next();
                     }
                 }
-                if (next.type() == BibTeXTokenType.CONCAT) {
-                    if (!Character.isLetter(start.text().charAt(0))) {
+                if (tokens.type(next) == BibTeXTokenType.CONCAT) {
+                    if (!Character.isLetter(text.charAt(0))) {
                         throw new IOException("Identifier does not start with a letter!");
                     }
-                    final ValueAndToken parsed = BibTeXParser.parseValue(iterator);
+                    final ValueAndToken parsed = BibTeXParser.parseValue(range);
                     return new ValueAndToken(
-                        new BibTeXConcatenation(new BibTeXIdentifier(start.text()), parsed.value()),
+                        new BibTeXConcatenation(new BibTeXIdentifier(text), parsed.value()),
                         parsed.token()
                     );
                 }
-                final String text = start.text();
-                if (text.matches(BibTeXParser.NUMBER_REGEX)) {
-                    return new ValueAndToken(new BibTeXNumber(new BigInteger(text)), next);
-                }
-                return new ValueAndToken(new BibTeXIdentifier(text), next);
+                final BibTeXNumber number = BibTeXParser.parseNumber(text);
+                return new ValueAndToken(number == null ? new BibTeXIdentifier(text) : number, next);
             }
-            final String startText = start.text();
-            if (startText.matches(BibTeXParser.NUMBER_REGEX)) {
-                return new ValueAndToken(new BibTeXNumber(new BigInteger(startText)), null);
-            }
-            return new ValueAndToken(new BibTeXIdentifier(startText), null);
+            final BibTeXNumber number = BibTeXParser.parseNumber(text);
+            return new ValueAndToken(number == null ? new BibTeXIdentifier(text) : number, BibTeXParser.NO_TOKEN);
         case OPEN_BRACE:
-            final List<BibTeXToken> braced = BibTeXParser.parseBraceExpression(BibTeXTokenType.CLOSE_BRACE, iterator);
+            final TokenRange braced = BibTeXParser.parseBraceExpression(BibTeXTokenType.CLOSE_BRACE, range);
             final String bracedText = BibTeXParser.toString(braced, true);
-            if (bracedText.matches(BibTeXParser.NUMBER_REGEX)) {
-                return new ValueAndToken(new BibTeXNumber(new BigInteger(bracedText)), null);
-            }
-            return new ValueAndToken(new BibTeXText(bracedText), null);
+            final BibTeXNumber bracedNumber = BibTeXParser.parseNumber(bracedText);
+            return new ValueAndToken(
+                bracedNumber == null ? new BibTeXText(bracedText) : bracedNumber,
+                BibTeXParser.NO_TOKEN
+            );
         case QUOTE:
-            final List<BibTeXToken> quoted = BibTeXParser.parseBraceExpression(BibTeXTokenType.QUOTE, iterator);
+            final TokenRange quoted = BibTeXParser.parseBraceExpression(BibTeXTokenType.QUOTE, range);
             final String content = BibTeXParser.toString(quoted, true);
-            final BibTeXValue value =
-                content.matches(BibTeXParser.NUMBER_REGEX) ?
-                    new BibTeXNumber(new BigInteger(content)) :
-                        new BibTeXText(content);
-            if (iterator.hasNext()) {
-                BibTeXToken next = iterator.next();
-                if (next.type() == BibTeXTokenType.WHITESPACE) {
-                    if (iterator.hasNext()) {
-                        next = iterator.next();
+            final BibTeXNumber quotedNumber = BibTeXParser.parseNumber(content);
+            final BibTeXValue value = quotedNumber == null ? new BibTeXText(content) : quotedNumber;
+            if (range.hasNext()) {
+                int next = range.next();
+                if (tokens.type(next) == BibTeXTokenType.WHITESPACE) {
+                    if (range.hasNext()) {
+                        next = range.next();
                     }
                 }
-                if (next.type() == BibTeXTokenType.CONCAT) {
-                    final ValueAndToken parsed = BibTeXParser.parseValue(iterator);
+                if (tokens.type(next) == BibTeXTokenType.CONCAT) {
+                    final ValueAndToken parsed = BibTeXParser.parseValue(range);
                     return new ValueAndToken(
                         new BibTeXConcatenation(new BibTeXText(content), parsed.value()),
                         parsed.token()
@@ -316,116 +399,14 @@ public class BibTeXParser {
                 }
                 return new ValueAndToken(value, next);
             }
-            return new ValueAndToken(value, null);
+            return new ValueAndToken(value, BibTeXParser.NO_TOKEN);
         default:
             throw new IOException("Value starts with illegal token!");
         }
     }
 
-    private static String shrinkSpace(final String text) {
-        String result = text;
-        String reduced = result.replaceAll("\\s\\s", " ");
-        while (!result.equals(reduced)) {
-            result = reduced;
-            reduced = result.replaceAll("\\s\\s", " ");
-        }
-        return result;
-    }
-
-    private static List<BibTeXToken> tokenize(final CharacterBuffer buffer) throws IOException {
-        final List<BibTeXToken> tokens = new LinkedList<BibTeXToken>();
-        StringBuilder text = new StringBuilder();
-        BibTeXTokenType currentType = null;
-        Character c = buffer.getNext(text);
-        while (c != null) {
-            final BibTeXTokenType type = BibTeXParser.getType(c, currentType);
-            switch (type) {
-            case CONTENTTEXT:
-                if (currentType == null) {
-                    currentType = type;
-                } else {
-                    switch (currentType) {
-                    case WHITESPACE:
-                        buffer.appendReadContent(text);
-                        tokens.add(new BibTeXToken(currentType, text.toString()));
-                        text.setLength(0);
-                        text.append(c.charValue());
-                        // fall through
-                    default:
-                        currentType = type;
-                    }
-                }
-                break;
-            case IDENTIFIERTEXT:
-                if (currentType == null) {
-                    currentType = type;
-                } else {
-                    switch (currentType) {
-                    case CONTENTTEXT:
-                        break;
-                    case WHITESPACE:
-                        buffer.appendReadContent(text);
-                        tokens.add(new BibTeXToken(currentType, text.toString()));
-                        text = new StringBuilder();
-                        text.append(c.charValue());
-                        // fall through
-                    default:
-                        currentType = type;
-                    }
-                }
-                break;
-            case WHITESPACE:
-                if (currentType == null) {
-                    currentType = type;
-                } else {
-                    switch (currentType) {
-                    case CONTENTTEXT:
-                    case IDENTIFIERTEXT:
-                        buffer.appendReadContent(text);
-                        tokens.add(new BibTeXToken(currentType, text.toString()));
-                        text = new StringBuilder();
-                        text.append(c.charValue());
-                        // fall through
-                    default:
-                        currentType = type;
-                    }
-                }
-                break;
-            default:
-                if (currentType == null) {
-                    currentType = type;
-                    buffer.appendReadContent(new StringBuilder());
-                    tokens.add(new BibTeXToken(type, String.valueOf(c)));
-                } else {
-                    switch (currentType) {
-                    case CONTENTTEXT:
-                    case IDENTIFIERTEXT:
-                    case WHITESPACE:
-                        buffer.appendReadContent(text);
-                        tokens.add(new BibTeXToken(currentType, text.toString()));
-                        // fall through
-                    default:
-                        text.setLength(0);
-                        currentType = type;
-                        buffer.appendReadContent(new StringBuilder());
-                        tokens.add(new BibTeXToken(type, String.valueOf(c)));
-                    }
-                }
-            }
-            c = buffer.getNext(text);
-        }
-        buffer.appendReadContent(text);
-        final String remainder = text.toString();
-        if (!remainder.isEmpty()) {
-            tokens.add(new BibTeXToken(currentType, remainder));
-        }
-        return tokens;
-    }
-
-    private static String toString(final List<BibTeXToken> buffer, final boolean shrinkWhiteSpace) {
-        return buffer.stream()
-            .map(token -> shrinkWhiteSpace && token.type() == BibTeXTokenType.WHITESPACE ? " " : token.text())
-            .collect(Collectors.joining());
+    private static String toString(final TokenRange range, final boolean shrinkWhiteSpace) {
+        return range.tokens.text(range.index, range.end, shrinkWhiteSpace);
     }
 
 }
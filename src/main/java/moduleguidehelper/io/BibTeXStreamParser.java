@@ -0,0 +1,186 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.*;
+
+import moduleguidehelper.model.bibtex.*;
+
+public class BibTeXStreamParser implements Closeable {
+
+    private static record ParsedObject(BibTeXObject object, IOException exception) {}
+
+    private static int getGroup(final int c) {
+        switch (BibTeXTokenStream.getType((char)c)) {
+        case WHITESPACE:
+            return 0;
+        case CONTENTTEXT:
+        case IDENTIFIERTEXT:
+            return 1;
+        default:
+            return 2;
+        }
+    }
+
+    private final CharacterBuffer buffer;
+
+    private char[] chunk;
+
+    private int chunkLength;
+
+    private final StringBuilder freeComment;
+
+    private BibTeXObject pending;
+
+    public BibTeXStreamParser(final CharacterBuffer buffer) {
+        this.buffer = buffer;
+        this.chunk = new char[1024];
+        this.chunkLength = 0;
+        this.freeComment = new StringBuilder();
+        this.pending = null;
+    }
+
+    public BibTeXStreamParser(final File file) throws IOException {
+        this(CharacterBuffer.load(file));
+    }
+
+    public BibTeXStreamParser(final Reader reader) {
+        this(new CharacterBuffer(reader));
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.buffer.close();
+    }
+
+    public BibTeXObject next() throws IOException {
+        if (this.pending != null) {
+            final BibTeXObject result = this.pending;
+            this.pending = null;
+            return result;
+        }
+        final boolean object = this.readFreeComment();
+        final BibTeXFreeComment comment = this.getFreeComment();
+        if (!object) {
+            return comment;
+        }
+        this.readObject();
+        final BibTeXObject result = BibTeXParser.parseObject(this.chunk, this.chunkLength);
+        if (comment != null) {
+            this.pending = result;
+            return comment;
+        }
+        return result;
+    }
+
+    public List<BibTeXObject> next(final int characters) throws IOException {
+        final List<BibTeXObject> result = new ArrayList<BibTeXObject>();
+        if (this.pending != null) {
+            result.add(this.pending);
+            this.pending = null;
+        }
+        final List<char[]> sources = new ArrayList<char[]>();
+        final List<Integer> positions = new ArrayList<Integer>();
+        int read = 0;
+        while (read < characters) {
+            final boolean object = this.readFreeComment();
+            final BibTeXFreeComment comment = this.getFreeComment();
+            if (comment != null) {
+                result.add(comment);
+            }
+            if (!object) {
+                break;
+            }
+            this.readObject();
+            sources.add(Arrays.copyOf(this.chunk, this.chunkLength));
+            positions.add(result.size());
+            result.add(null);
+            read += this.chunkLength;
+        }
+        final List<ParsedObject> parsed =
+            sources.parallelStream().map(source -> {
+                try {
+                    return new ParsedObject(BibTeXParser.parseObject(source, source.length), null);
+                } catch (final IOException e) {
+                    return new ParsedObject(null, e);
+                }
+            }).toList();
+        for (int i = 0; i < parsed.size(); i++) {
+            if (parsed.get(i).exception() != null) {
+                throw parsed.get(i).exception();
+            }
+            result.set(positions.get(i), parsed.get(i).object());
+        }
+        return result;
+    }
+
+    private void append(final int c) {
+        if (this.chunkLength == this.chunk.length) {
+            this.chunk = Arrays.copyOf(this.chunk, this.chunk.length * 2);
+        }
+        this.chunk[this.chunkLength++] = (char)c;
+    }
+
+    private BibTeXFreeComment getFreeComment() {
+        for (int i = 0; i < this.freeComment.length(); i++) {
+            if (!Character.isWhitespace(this.freeComment.charAt(i))) {
+                return new BibTeXFreeComment(this.freeComment.toString());
+            }
+        }
+        return null;
+    }
+
+    private void readBraceExpression(final char terminator) throws IOException {
+        int nesting = 1;
+        int c = this.buffer.read();
+        while (c != CharacterBuffer.END) {
+            this.append(c);
+            if (c == '{') {
+                nesting++;
+            } else if (c == '}') {
+                nesting--;
+                if (nesting == 0) {
+                    return;
+                }
+            } else if (nesting == 1 && c == terminator) {
+                return;
+            }
+            c = this.buffer.read();
+        }
+    }
+
+    private boolean readFreeComment() throws IOException {
+        this.freeComment.setLength(0);
+        int c = this.buffer.read();
+        while (c != CharacterBuffer.END && c != '@') {
+            this.freeComment.append((char)c);
+            c = this.buffer.read();
+        }
+        return c != CharacterBuffer.END;
+    }
+
+    private void readObject() throws IOException {
+        this.chunkLength = 0;
+        this.append('@');
+        int c = this.buffer.read();
+        if (c != CharacterBuffer.END) {
+            final int group = BibTeXStreamParser.getGroup(c);
+            this.append(c);
+            c = this.buffer.read();
+            if (group != 2) {
+                while (c != CharacterBuffer.END && BibTeXStreamParser.getGroup(c) == group) {
+                    this.append(c);
+                    c = this.buffer.read();
+                }
+            }
+            if (c != CharacterBuffer.END) {
+                this.append(c);
+                if (c == '{') {
+                    this.readBraceExpression('}');
+                } else if (c == '(') {
+                    this.readBraceExpression(')');
+                }
+            }
+        }
+    }
+
+}
@@ -1,5 +0,0 @@
-package moduleguidehelper.io;
-
-public record BibTeXToken(BibTeXTokenType type, String text) {
-
-}
@@ -0,0 +1,159 @@
+package moduleguidehelper.io;
+
+import java.util.*;
+
+public class BibTeXTokenStream {
+
+    private static final byte[] ASCII_TYPES;
+
+    private static final BibTeXTokenType[] TYPES = BibTeXTokenType.values();
+
+    static {
+        ASCII_TYPES = new byte[128];
+        for (char c = 0; c < BibTeXTokenStream.ASCII_TYPES.length; c++) {
+            BibTeXTokenStream.ASCII_TYPES[c] = (byte)BibTeXTokenStream.classify(c).ordinal();
+        }
+    }
+
+    public static BibTeXTokenType getType(final char c) {
+        if (c < BibTeXTokenStream.ASCII_TYPES.length) {
+            return BibTeXTokenStream.TYPES[BibTeXTokenStream.ASCII_TYPES[c]];
+        }
+        return BibTeXTokenStream.classify(c);
+    }
+
+    public static BibTeXTokenStream tokenize(final char[] source, final int length) {
+        final BibTeXTokenStream result = new BibTeXTokenStream(source, length);
+        BibTeXTokenType currentType = null;
+        for (int i = 0; i < length; i++) {
+            final BibTeXTokenType type = BibTeXTokenStream.getType(source[i]);
+            switch (type) {
+            case CONTENTTEXT:
+            case IDENTIFIERTEXT:
+                if (currentType == BibTeXTokenType.CONTENTTEXT || currentType == BibTeXTokenType.IDENTIFIERTEXT) {
+                    if (type == BibTeXTokenType.CONTENTTEXT) {
+                        result.types[result.size - 1] = (byte)type.ordinal();
+                    }
+                    continue;
+                }
+                break;
+            case WHITESPACE:
+                if (currentType == BibTeXTokenType.WHITESPACE) {
+                    continue;
+                }
+                break;
+            default:
+            }
+            result.add(type, i);
+            currentType = type;
+        }
+        return result;
+    }
+
+    private static BibTeXTokenType classify(final char c) {
+        if (Character.isWhitespace(c)) {
+            return BibTeXTokenType.WHITESPACE;
+        }
+        switch (c) {
+        case '@':
+            return BibTeXTokenType.AT;
+        case ',':
+            return BibTeXTokenType.COMMA;
+        case '=':
+            return BibTeXTokenType.ASSIGN;
+        case '"':
+            return BibTeXTokenType.QUOTE;
+        case '{':
+            return BibTeXTokenType.OPEN_BRACE;
+        case '}':
+            return BibTeXTokenType.CLOSE_BRACE;
+        case '(':
+            return BibTeXTokenType.OPEN_PARENTHESIS;
+        case ')':
+            return BibTeXTokenType.CLOSE_PARENTHESIS;
+        case '#':
+            return BibTeXTokenType.CONCAT;
+        case '_':
+        case '-':
+        case ':':
+            return BibTeXTokenType.IDENTIFIERTEXT;
+        default:
+            if (Character.isLetterOrDigit(c)) {
+                return BibTeXTokenType.IDENTIFIERTEXT;
+            }
+            return BibTeXTokenType.CONTENTTEXT;
+        }
+    }
+
+    private final int length;
+
+    private int size;
+
+    private final char[] source;
+
+    private int[] starts;
+
+    private byte[] types;
+
+    private BibTeXTokenStream(final char[] source, final int length) {
+        this.source = source;
+        this.length = length;
+        final int capacity = length / 4 + 16;
+        this.starts = new int[capacity];
+        this.types = new byte[capacity];
+        this.size = 0;
+    }
+
+    public char firstChar(final int token) {
+        return this.source[this.starts[token]];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public String text(final int token) {
+        return this.text(token, token + 1);
+    }
+
+    public String text(final int from, final int to) {
+        final int start = this.start(from);
+        return new String(this.source, start, this.start(to) - start);
+    }
+
+    public String text(final int from, final int to, final boolean shrinkWhiteSpace) {
+        if (!shrinkWhiteSpace) {
+            return this.text(from, to);
+        }
+        final StringBuilder result = new StringBuilder(this.start(to) - this.start(from));
+        for (int token = from; token < to; token++) {
+            if (this.types[token] == BibTeXTokenType.WHITESPACE.ordinal()) {
+                result.append(' ');
+            } else {
+                final int start = this.starts[token];
+                result.append(this.source, start, this.start(token + 1) - start);
+            }
+        }
+        return result.toString();
+    }
+
+    public BibTeXTokenType type(final int token) {
+        return BibTeXTokenStream.TYPES[this.types[token]];
+    }
+
+    private void add(final BibTeXTokenType type, final int start) {
+        if (this.size == this.types.length) {
+            final int capacity = this.size * 2;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+        }
+        this.types[this.size] = (byte)type.ordinal();
+        this.starts[this.size] = start;
+        this.size++;
+    }
+
+    private int start(final int token) {
+        return token < this.size ? this.starts[token] : this.length;
+    }
+
+}
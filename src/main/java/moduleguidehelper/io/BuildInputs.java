@@ -0,0 +1,158 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.*;
+import java.util.logging.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.bibtex.*;
+
+public class BuildInputs {
+
+    private Map<String, String> citations;
+
+    private final File literature;
+
+    private String literatureDefinitions;
+
+    private final ModuleRepository modules;
+
+    public BuildInputs(final ModuleRepository modules, final File literature) {
+        this.modules = modules;
+        this.literature = literature;
+    }
+
+    public String forGuide(final File guide) throws IOException {
+        final MetaModuleGuide metaGuide;
+        try {
+            metaGuide = this.modules.read(guide, MetaModuleGuide.class);
+        } catch (RuntimeException | IOException e) {
+            throw new IOException(String.format("Exception on module guide %s: %s", guide, e.getMessage()), e);
+        }
+        final StringBuilder inputs = this.start();
+        inputs.append("guide:");
+        inputs.append(ContentHash.of(guide));
+        inputs.append('\n');
+        for (final MetaModule meta : metaGuide.modules()) {
+            if (meta != null) {
+                this.appendModule(meta.module(), inputs);
+            }
+        }
+        return ContentHash.of(inputs.toString());
+    }
+
+    public String forModule(final String id) throws IOException {
+        final StringBuilder inputs = this.start();
+        this.appendModule(id, inputs);
+        return ContentHash.of(inputs.toString());
+    }
+
+    private void appendCitations(final List<String> keys, final StringBuilder inputs) {
+        if (keys == null) {
+            return;
+        }
+        for (final String key : keys) {
+            if (!key.startsWith("!")) {
+                inputs.append("cite:");
+                inputs.append(key);
+                inputs.append(':');
+                inputs.append(this.citations.getOrDefault(key, ""));
+                inputs.append('\n');
+            }
+        }
+    }
+
+    private void appendModule(final String id, final StringBuilder inputs) throws IOException {
+        inputs.append("module:");
+        inputs.append(id);
+        inputs.append(':');
+        inputs.append(ContentHash.of(this.modules.getFile(id)));
+        inputs.append('\n');
+        if (!this.modules.contains(id)) {
+            return;
+        }
+        final RawModule module;
+        try {
+            module = this.modules.get(id);
+        } catch (final RuntimeException e) {
+            throw new IOException(
+                String.format("Exception on module %s: %s", this.modules.getFile(id).getPath(), e.getMessage()),
+                e
+            );
+        }
+        if (module == null) {
+            return;
+        }
+        this.appendTitles(module.preconditions(), inputs);
+        this.appendTitles(module.recommendations(), inputs);
+        this.appendCitations(module.requiredliterature(), inputs);
+        this.appendCitations(module.optionalliterature(), inputs);
+    }
+
+    private void appendTitles(final List<String> ids, final StringBuilder inputs) {
+        if (ids == null) {
+            return;
+        }
+        for (final String id : ids) {
+            if (id.startsWith("!")) {
+                continue;
+            }
+            inputs.append("title:");
+            inputs.append(id);
+            inputs.append(':');
+            try {
+                final RawModule module = this.modules.contains(id) ? this.modules.get(id) : null;
+                inputs.append(module == null ? "" : module.title());
+            } catch (final IOException | RuntimeException e) {
+                inputs.append("!");
+            }
+            inputs.append('\n');
+        }
+    }
+
+    private void loadLiterature() throws IOException {
+        this.citations = new LinkedHashMap<String, String>();
+        if (!this.literature.exists()) {
+            this.literatureDefinitions = "";
+            return;
+        }
+        final BibTeXFormatter formatter = new BibTeXFormatter().setSort(false);
+        final StringWriter definitions = new StringWriter();
+        try (BibTeXStreamParser parser = new BibTeXStreamParser(this.literature)) {
+            for (BibTeXObject object = parser.next(); object != null; object = parser.next()) {
+                if (object instanceof final BibTeXEntry entry) {
+                    final StringWriter text = new StringWriter();
+                    formatter.format(entry, text);
+                    this.citations.put(entry.identifier(), ContentHash.of(text.toString()));
+                } else if (object instanceof BibTeXString || object instanceof BibTeXPreamble) {
+                    object.format(formatter, definitions);
+                }
+            }
+        } catch (final IOException e) {
+            Main.LOGGER.log(
+                Level.WARNING,
+                String.format("Literature %s could not be parsed: %s", this.literature.getPath(), e.getMessage())
+            );
+            this.citations.clear();
+            this.literatureDefinitions = ContentHash.of(this.literature);
+            return;
+        }
+        this.literatureDefinitions = ContentHash.of(definitions.toString());
+    }
+
+    private StringBuilder start() throws IOException {
+        if (this.citations == null) {
+            this.loadLiterature();
+        }
+        final StringBuilder result = new StringBuilder();
+        result.append("version:");
+        result.append(Main.VERSION);
+        result.append('\n');
+        result.append("literature:");
+        result.append(this.literatureDefinitions);
+        result.append('\n');
+        return result;
+    }
+
+}
@@ -0,0 +1,63 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.logging.*;
+
+import com.google.gson.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class BuildManifest {
+
+    private static final String MANIFEST = "manifest.json";
+
+    public static BuildManifest load(final File root) throws IOException {
+        final File file = Main.getCacheDirectory(root).toPath().resolve(BuildManifest.MANIFEST).toFile();
+        BuildFingerprints fingerprints = null;
+        if (file.exists()) {
+            try (FileReader reader = new FileReader(file)) {
+                fingerprints = Main.GSON.fromJson(reader, BuildFingerprints.class);
+            } catch (final JsonParseException e) {
+                Main.LOGGER.log(Level.WARNING, String.format("Ignoring corrupt build manifest %s!", file.getPath()));
+            }
+        }
+        return new BuildManifest(root, file, fingerprints == null ? new BuildFingerprints() : fingerprints);
+    }
+
+    private final File file;
+
+    private final BuildFingerprints fingerprints;
+
+    private final File root;
+
+    private BuildManifest(final File root, final File file, final BuildFingerprints fingerprints) {
+        this.root = root;
+        this.file = file;
+        this.fingerprints = fingerprints;
+    }
+
+    public boolean isUpToDate(final File output, final String fingerprint) {
+        return output.exists() && fingerprint.equals(this.fingerprints.get(this.toKey(output)));
+    }
+
+    public void save() throws IOException {
+        try (Writer writer = new BufferedWriter(new FileWriter(this.file))) {
+            Main.GSON.toJson(this.fingerprints, writer);
+        }
+    }
+
+    public void update(final File output, final String fingerprint) {
+        this.fingerprints.put(this.toKey(output), fingerprint);
+    }
+
+    private String toKey(final File output) {
+        return this.root
+            .toPath()
+            .toAbsolutePath()
+            .relativize(output.toPath().toAbsolutePath())
+            .toString()
+            .replace(File.separatorChar, '/');
+    }
+
+}
@@ -1,57 +1,96 @@
 package moduleguidehelper.io;
 
 import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 
-public class CharacterBuffer {
+public class CharacterBuffer implements Closeable {
+
+    public static final int END = -1;
+
+    public static CharacterBuffer load(final File file) throws IOException {
+        return new CharacterBuffer(65536, ByteBuffer.wrap(Files.readAllBytes(file.toPath())), StandardCharsets.UTF_8);
+    }
 
     private final char[] buffer;
 
+    private final ByteBuffer bytes;
+
+    private final CharBuffer chars;
+
+    private final CharsetDecoder decoder;
+
     private int end;
 
+    private boolean flushed;
+
     private int index;
 
     private final Reader reader;
 
-    private int start;
+    public CharacterBuffer(final int capacity, final ByteBuffer bytes, final Charset charset) {
+        this.buffer = new char[capacity];
+        this.reader = null;
+        this.bytes = bytes;
+        this.chars = CharBuffer.wrap(this.buffer);
+        this.decoder =
+            charset.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.flushed = false;
+        this.index = 0;
+        this.end = 0;
+    }
 
     public CharacterBuffer(final int capacity, final Reader reader) {
         this.buffer = new char[capacity];
         this.reader = reader;
-        this.start = 0;
+        this.bytes = null;
+        this.chars = null;
+        this.decoder = null;
+        this.flushed = false;
         this.index = 0;
         this.end = 0;
     }
 
     public CharacterBuffer(final Reader reader) {
-        this(1024, reader);
+        this(8192, reader);
     }
 
-    public void appendReadContent(final StringBuilder sink) {
-        sink.append(this.buffer, this.start, Math.max(0, this.index - this.start - 1));
-        this.start = this.index;
+    @Override
+    public void close() throws IOException {
+        if (this.reader != null) {
+            this.reader.close();
+        }
     }
 
-    public Character getNext(final StringBuilder sink) throws IOException {
+    public int read() throws IOException {
         if (this.index == this.end) {
-            if (this.start == 0) {
-                sink.append(this.buffer, 0, this.end);
-                this.index = 0;
-                this.end = 0;
+            final int read =
+                this.reader == null ? this.decode() : this.reader.read(this.buffer, 0, this.buffer.length);
+            if (read <= 0) {
+                return CharacterBuffer.END;
             }
-            for (int i = 0; i < this.end - this.start; i++) {
-                this.buffer[i] = this.buffer[this.start + i];
+            this.index = 0;
+            this.end = read;
+        }
+        return this.buffer[this.index++];
+    }
+
+    private int decode() throws CharacterCodingException {
+        this.chars.clear();
+        if (!this.flushed) {
+            final CoderResult result = this.decoder.decode(this.bytes, this.chars, true);
+            if (result.isError()) {
+                result.throwException();
             }
-            this.index -= this.start;
-            this.end -= this.start;
-            this.start = 0;
-            final int read = this.reader.read(this.buffer, this.end, this.buffer.length - this.end);
-            if (read == -1) {
-                sink.append(this.buffer, 0, this.end);
-                return null;
+            if (result.isUnderflow()) {
+                this.decoder.flush(this.chars);
+                this.flushed = true;
             }
-            this.end += read;
         }
-        return this.buffer[this.index++];
+        return this.chars.position();
     }
 
 }
@@ -0,0 +1,200 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.Map.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import com.google.gson.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.bibtex.*;
+import moduleguidehelper.model.equivalence.*;
+
+public class CitationValidator {
+
+    public static CitationReport validate(
+        final File root,
+        final Optional<File> equivalenceCheck
+    ) throws IOException {
+        final long start = System.nanoTime();
+        final BibTeXDatabase literature = BibTeXParser.parseParallel(root.toPath().resolve("literature.bib").toFile());
+        final Set<String> keys = new HashSet<String>();
+        for (final BibTeXObject object : literature) {
+            if (object instanceof final BibTeXEntry entry) {
+                keys.add(entry.identifier());
+            }
+        }
+        final ModuleRepository modules = new ModuleRepository(root.toPath().resolve("modules").toFile());
+        final Set<File> moduleFiles =
+            new LinkedHashSet<File>(
+                List.of(
+                    modules.getModulesFolder().listFiles(
+                        file -> file.getName().endsWith(".json") && !"schema.json".equals(file.getName())
+                    )
+                )
+            );
+        final List<File> checkCandidates =
+            equivalenceCheck.isPresent() ?
+                List.of(equivalenceCheck.get()) :
+                    CitationValidator.findEquivalenceCheckCandidates(root, modules.getModulesFolder());
+        final SortedSet<String> emptyModules = new ConcurrentSkipListSet<String>();
+        final List<Entry<String, List<String>>> citations;
+        try {
+            citations =
+                Stream.concat(moduleFiles.stream(), checkCandidates.stream())
+                .parallel()
+                .flatMap(file -> {
+                    try {
+                        if (moduleFiles.contains(file)) {
+                            return Stream.of(CitationValidator.readModuleCitations(file, modules, emptyModules));
+                        }
+                        return CitationValidator.readEquivalenceCheckCitations(file, equivalenceCheck.isPresent())
+                            .stream();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }).toList();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final SortedMap<String, List<String>> unknownKeys = new TreeMap<String, List<String>>();
+        final Set<String> locations = new HashSet<String>();
+        final Set<String> usedKeys = new HashSet<String>();
+        int count = 0;
+        for (final Entry<String, List<String>> citation : citations) {
+            if (!locations.add(citation.getKey())) {
+                continue;
+            }
+            for (final String key : citation.getValue()) {
+                count++;
+                if (keys.contains(key)) {
+                    usedKeys.add(key);
+                } else {
+                    unknownKeys.computeIfAbsent(citation.getKey(), location -> new ArrayList<String>()).add(key);
+                }
+            }
+        }
+        final SortedSet<String> unusedKeys = new TreeSet<String>(keys);
+        unusedKeys.removeAll(usedKeys);
+        return new CitationReport(
+            count,
+            unknownKeys,
+            unusedKeys,
+            new TreeSet<String>(emptyModules),
+            (System.nanoTime() - start) / 1_000_000
+        );
+    }
+
+    private static List<File> findEquivalenceCheckCandidates(final File root, final File modulesFolder)
+    throws IOException {
+        final Path rootPath = root.toPath().toAbsolutePath().normalize();
+        final Path modulesPath = modulesFolder.toPath().toAbsolutePath().normalize();
+        try (Stream<Path> paths = Files.walk(rootPath)) {
+            return paths
+                .filter(path -> !path.startsWith(modulesPath))
+                .filter(path -> path.getFileName().toString().endsWith(".json"))
+                .filter(
+                    path -> StreamSupport.stream(rootPath.relativize(path).spliterator(), false)
+                    .noneMatch(name -> name.toString().startsWith("."))
+                )
+                .filter(Files::isRegularFile)
+                .sorted()
+                .map(Path::toFile)
+                .toList();
+        }
+    }
+
+    private static List<String> getKeys(final List<String> literature) {
+        if (literature == null) {
+            return List.of();
+        }
+        return literature.stream().filter(source -> !source.startsWith("!")).toList();
+    }
+
+    private static List<String> getSourceKeys(final List<Source> sources) {
+        if (sources == null) {
+            return List.of();
+        }
+        return sources.stream().map(Source::source).toList();
+    }
+
+    private static boolean isEquivalenceCheck(final JsonElement json) {
+        return json != null
+            && json.isJsonObject()
+            && json.getAsJsonObject().has("ourmodules")
+            && json.getAsJsonObject().has("theirmodules");
+    }
+
+    private static List<Entry<String, List<String>>> readEquivalenceCheckCitations(
+        final File checkFile,
+        final boolean required
+    ) throws IOException {
+        final JsonElement json;
+        try (Reader reader = new FileReader(checkFile)) {
+            json = JsonParser.parseReader(reader);
+        } catch (final JsonParseException e) {
+            throw new IOException(String.format("%s: %s", checkFile.getAbsolutePath(), e.getMessage()), e);
+        }
+        if (!CitationValidator.isEquivalenceCheck(json)) {
+            if (required) {
+                throw new IOException(String.format("%s is no equivalence check!", checkFile.getAbsolutePath()));
+            }
+            return List.of();
+        }
+        final EquivalenceCheckRaw check = Main.GSON.fromJson(json, EquivalenceCheckRaw.class);
+        final List<Entry<String, List<String>>> result = new ArrayList<Entry<String, List<String>>>();
+        for (final ModuleCheck module : check.ourmodules()) {
+            result.add(
+                Map.entry(
+                    String.format("%s (%s)", checkFile.getPath(), module.module()),
+                    CitationValidator.getSourceKeys(module.sources())
+                )
+            );
+        }
+        final File theirModulesFile =
+            checkFile.toPath().toAbsolutePath().getParent().resolve(check.theirmodules()).toFile();
+        final List<ForeignModule> theirModules;
+        try (Reader reader = new FileReader(theirModulesFile)) {
+            theirModules = Main.GSON.fromJson(reader, ForeignModuleList.class);
+        }
+        for (final ForeignModule module : theirModules) {
+            result.add(
+                Map.entry(
+                    String.format("%s (%s)", theirModulesFile.getPath(), module.id()),
+                    CitationValidator.getSourceKeys(module.sources())
+                )
+            );
+        }
+        return result;
+    }
+
+    private static Entry<String, List<String>> readModuleCitations(
+        final File file,
+        final ModuleRepository modules,
+        final Set<String> emptyModules
+    ) throws IOException {
+        final String id = file.getName().substring(0, file.getName().length() - 5);
+        final RawModule module;
+        try {
+            module = modules.get(id);
+        } catch (final IOException | RuntimeException e) {
+            throw new IOException(String.format("%s: %s", file.getAbsolutePath(), e.getMessage()), e);
+        }
+        if (module == null) {
+            emptyModules.add(file.getPath());
+            return Map.entry(file.getPath(), List.<String>of());
+        }
+        return Map.entry(
+            file.getPath(),
+            Stream.concat(
+                CitationValidator.getKeys(module.requiredliterature()).stream(),
+                CitationValidator.getKeys(module.optionalliterature()).stream()
+            ).toList()
+        );
+    }
+
+}
@@ -0,0 +1,30 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+
+public class ContentHash {
+
+    public static String of(final byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String of(final File file) throws IOException {
+        if (!file.exists()) {
+            return "";
+        }
+        return ContentHash.of(Files.readAllBytes(file.toPath()));
+    }
+
+    public static String of(final String text) {
+        return ContentHash.of(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -5,10 +5,17 @@ import java.util.stream.*;
 
 public enum ExecutionMode {
 
+    CITATIONS(
+        "Check all citation keys in modules and equivalence checks (or only the one given) against literature.bib.",
+        Set.of(Flag.ROOT)
+    ),
+
     EQUIVALENCE_CHECK("Compile an equivalence check.", Set.of(Flag.EQUIVALENCE_CHECK, Flag.MODULES)),
 
     MODULE_GUIDE("Compile a module guide.", Set.of(Flag.GUIDE, Flag.MODULES, Flag.OUTPUT)),
 
+    MODULE_GUIDES("Compile all module guides in the root directory.", Set.of(Flag.ROOT)),
+
     PRETTY("Pretty print JSON and BIB files.", Set.of(Flag.ROOT)),
 
     QUARTERLY_OVERVIEW("Compile a quarterly overview of modules.", Set.of(Flag.ROOT, Flag.OUTPUT)),
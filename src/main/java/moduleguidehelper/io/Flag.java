@@ -16,11 +16,15 @@ public enum Flag implements Parameter {
 
     KEYVALUES("k", "keyvalues", "Mapping from keys to values."),
 
+    METRICS("t", "metrics", "Print phase timings and counters as JSON (to standard error or the given file)."),
+
     MODULES("m", "modules", "Directory containing the modules."),
 
     OUTPUT("o", "output", "Output file."),
 
-    ROOT("r", "root", "Root directory.");
+    ROOT("r", "root", "Root directory."),
+
+    SEQUENTIAL("s", "sequential", "Render the modules of a guide sequentially instead of in parallel.");
 
     private final String description;
 
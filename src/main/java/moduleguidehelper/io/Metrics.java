@@ -0,0 +1,114 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import moduleguidehelper.*;
+
+public class Metrics {
+
+    public static enum Counter {
+        BYTES_WRITTEN, CACHE_HITS, FILES_READ, FILES_UNCHANGED, MODULES_RENDERED
+    }
+
+    public static enum Phase {
+        BIBTEX, GUIDE, JSON, MODULES, OUTPUT, OVERVIEW, PDF, RENDERING, TOTAL
+    }
+
+    public static final String PROPERTY = "moduleguidehelper.metrics";
+
+    private static final LongAdder[] CALLS = Metrics.adders(Phase.values().length);
+
+    private static final LongAdder[] COUNTERS = Metrics.adders(Counter.values().length);
+
+    private static volatile boolean enabled = Boolean.getBoolean(Metrics.PROPERTY);
+
+    private static final LongAdder[] NANOS = Metrics.adders(Phase.values().length);
+
+    public static void count(final Counter counter) {
+        if (Metrics.enabled) {
+            Metrics.COUNTERS[counter.ordinal()].increment();
+        }
+    }
+
+    public static void count(final Counter counter, final long amount) {
+        if (Metrics.enabled) {
+            Metrics.COUNTERS[counter.ordinal()].add(amount);
+        }
+    }
+
+    public static void enable() {
+        Metrics.enabled = true;
+    }
+
+    public static boolean isEnabled() {
+        return Metrics.enabled;
+    }
+
+    public static void report(final String target) throws IOException {
+        if (!Metrics.enabled) {
+            return;
+        }
+        final String summary = Metrics.summary();
+        if (target == null || "true".equals(target)) {
+            System.err.println(summary);
+        } else {
+            OutputFiles.writeIfChanged(new File(target), summary + Main.lineSeparator);
+        }
+    }
+
+    public static void reset() {
+        for (final LongAdder adder : Metrics.CALLS) {
+            adder.reset();
+        }
+        for (final LongAdder adder : Metrics.COUNTERS) {
+            adder.reset();
+        }
+        for (final LongAdder adder : Metrics.NANOS) {
+            adder.reset();
+        }
+    }
+
+    public static long start() {
+        return Metrics.enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(final Phase phase, final long start) {
+        if (Metrics.enabled && start != 0L) {
+            Metrics.NANOS[phase.ordinal()].add(System.nanoTime() - start);
+            Metrics.CALLS[phase.ordinal()].increment();
+        }
+    }
+
+    public static String summary() {
+        final Map<String, Object> phases = new LinkedHashMap<String, Object>();
+        for (final Phase phase : Phase.values()) {
+            final long calls = Metrics.CALLS[phase.ordinal()].sum();
+            if (calls > 0) {
+                final Map<String, Object> timing = new LinkedHashMap<String, Object>();
+                timing.put("calls", calls);
+                timing.put("milliseconds", Metrics.NANOS[phase.ordinal()].sum() / 1_000L / 1000.0);
+                phases.put(phase.name().toLowerCase(), timing);
+            }
+        }
+        final Map<String, Object> counters = new LinkedHashMap<String, Object>();
+        for (final Counter counter : Counter.values()) {
+            counters.put(counter.name().toLowerCase(), Metrics.COUNTERS[counter.ordinal()].sum());
+        }
+        final Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("version", Main.VERSION);
+        result.put("phases", phases);
+        result.put("counters", counters);
+        return Main.GSON.toJson(result);
+    }
+
+    private static LongAdder[] adders(final int length) {
+        final LongAdder[] result = new LongAdder[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+}
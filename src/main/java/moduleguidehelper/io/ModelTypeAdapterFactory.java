@@ -0,0 +1,711 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.*;
+
+import com.google.gson.*;
+import com.google.gson.reflect.*;
+import com.google.gson.stream.*;
+
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.equivalence.*;
+
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static class ChapterAdapter extends TypeAdapter<Chapter> {
+
+        private final TypeAdapter<List<String>> stringLists;
+
+        private final TypeAdapter<String> strings;
+
+        private ChapterAdapter(final Gson gson) {
+            this.strings = gson.getAdapter(String.class);
+            this.stringLists = gson.getAdapter(new TypeToken<List<String>>() {});
+        }
+
+        @Override
+        public Chapter read(final JsonReader in) throws IOException {
+            String chapter = null;
+            List<String> sections = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "chapter":
+                    chapter = this.strings.read(in);
+                    break;
+                case "sections":
+                    sections = this.stringLists.read(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new Chapter(chapter, sections);
+        }
+
+        @Override
+        public void write(final JsonWriter out, final Chapter chapter) throws IOException {
+            out.beginObject();
+            out.name("chapter");
+            this.strings.write(out, chapter.chapter());
+            out.name("sections");
+            this.stringLists.write(out, chapter.sections());
+            out.endObject();
+        }
+
+    }
+
+    private static class ForeignModuleAdapter extends TypeAdapter<ForeignModule> {
+
+        private final TypeAdapter<Integer> integers;
+
+        private final TypeAdapter<List<Source>> sourceLists;
+
+        private final TypeAdapter<List<String>> stringLists;
+
+        private final TypeAdapter<String> strings;
+
+        private ForeignModuleAdapter(final Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+            this.stringLists = gson.getAdapter(new TypeToken<List<String>>() {});
+            this.sourceLists = gson.getAdapter(new TypeToken<List<Source>>() {});
+        }
+
+        @Override
+        public ForeignModule read(final JsonReader in) throws IOException {
+            String id = null;
+            String title = null;
+            int totalhours = 0;
+            List<String> competencies = null;
+            String responsible = null;
+            List<Source> sources = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "id":
+                    id = this.strings.read(in);
+                    break;
+                case "title":
+                    title = this.strings.read(in);
+                    break;
+                case "totalhours":
+                    totalhours = ModelTypeAdapterFactory.readInt(this.integers, in, "totalhours");
+                    break;
+                case "competencies":
+                    competencies = this.stringLists.read(in);
+                    break;
+                case "responsible":
+                    responsible = this.strings.read(in);
+                    break;
+                case "sources":
+                    sources = this.sourceLists.read(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new ForeignModule(id, title, totalhours, competencies, responsible, sources);
+        }
+
+        @Override
+        public void write(final JsonWriter out, final ForeignModule module) throws IOException {
+            out.beginObject();
+            out.name("id");
+            this.strings.write(out, module.id());
+            out.name("title");
+            this.strings.write(out, module.title());
+            out.name("totalhours");
+            this.integers.write(out, module.totalhours());
+            out.name("competencies");
+            this.stringLists.write(out, module.competencies());
+            out.name("responsible");
+            this.strings.write(out, module.responsible());
+            out.name("sources");
+            this.sourceLists.write(out, module.sources());
+            out.endObject();
+        }
+
+    }
+
+    private static class MatchAdapter extends TypeAdapter<Match> {
+
+        private final TypeAdapter<Map<Integer, Integer>> integerMaps;
+
+        private final TypeAdapter<Integer> integers;
+
+        private final TypeAdapter<String> strings;
+
+        private MatchAdapter(final Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+            this.integerMaps = gson.getAdapter(new TypeToken<Map<Integer, Integer>>() {});
+        }
+
+        @Override
+        public Match read(final JsonReader in) throws IOException {
+            String ourID = null;
+            String theirID = null;
+            int hours = 0;
+            Map<Integer, Integer> competencyMatch = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "ourID":
+                    ourID = this.strings.read(in);
+                    break;
+                case "theirID":
+                    theirID = this.strings.read(in);
+                    break;
+                case "hours":
+                    hours = ModelTypeAdapterFactory.readInt(this.integers, in, "hours");
+                    break;
+                case "competencyMatch":
+                    competencyMatch = this.integerMaps.read(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new Match(ourID, theirID, hours, competencyMatch);
+        }
+
+        @Override
+        public void write(final JsonWriter out, final Match match) throws IOException {
+            out.beginObject();
+            out.name("ourID");
+            this.strings.write(out, match.ourID());
+            out.name("theirID");
+            this.strings.write(out, match.theirID());
+            out.name("hours");
+            this.integers.write(out, match.hours());
+            out.name("competencyMatch");
+            this.integerMaps.write(out, match.competencyMatch());
+            out.endObject();
+        }
+
+    }
+
+    private static class MetaModuleAdapter extends TypeAdapter<MetaModule> {
+
+        private final TypeAdapter<Integer> integers;
+
+        private final TypeAdapter<String> strings;
+
+        private MetaModuleAdapter(final Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.strings = gson.getAdapter(String.class);
+        }
+
+        @Override
+        public MetaModule read(final JsonReader in) throws IOException {
+            String module = null;
+            int semester = 0;
+            String semestername = null;
+            Integer sempos = null;
+            String type = null;
+            String frequency = null;
+            int weight = 0;
+            int duration = 0;
+            String responsible = null;
+            String contacthoursfactor = null;
+            String homehoursfactor = null;
+            String ectsfactor = null;
+            String specialization = null;
+            Integer specializationnumber = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "module":
+                    module = this.strings.read(in);
+                    break;
+                case "semester":
+                    semester = ModelTypeAdapterFactory.readInt(this.integers, in, "semester");
+                    break;
+                case "semestername":
+                    semestername = this.strings.read(in);
+                    break;
+                case "sempos":
+                    sempos = this.integers.read(in);
+                    break;
+                case "type":
+                    type = this.strings.read(in);
+                    break;
+                case "frequency":
+                    frequency = this.strings.read(in);
+                    break;
+                case "weight":
+                    weight = ModelTypeAdapterFactory.readInt(this.integers, in, "weight");
+                    break;
+                case "duration":
+                    duration = ModelTypeAdapterFactory.readInt(this.integers, in, "duration");
+                    break;
+                case "responsible":
+                    responsible = this.strings.read(in);
+                    break;
+                case "contacthoursfactor":
+                    contacthoursfactor = this.strings.read(in);
+                    break;
+                case "homehoursfactor":
+                    homehoursfactor = this.strings.read(in);
+                    break;
+                case "ectsfactor":
+                    ectsfactor = this.strings.read(in);
+                    break;
+                case "specialization":
+                    specialization = this.strings.read(in);
+                    break;
+                case "specializationnumber":
+                    specializationnumber = this.integers.read(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new MetaModule(
+                module,
+                semester,
+                semestername,
+                sempos,
+                type,
+                frequency,
+                weight,
+                duration,
+                responsible,
+                contacthoursfactor,
+                homehoursfactor,
+                ectsfactor,
+                specialization,
+                specializationnumber
+            );
+        }
+
+        @Override
+        public void write(final JsonWriter out, final MetaModule module) throws IOException {
+            out.beginObject();
+            out.name("module");
+            this.strings.write(out, module.module());
+            out.name("semester");
+            this.integers.write(out, module.semester());
+            out.name("semestername");
+            this.strings.write(out, module.semestername());
+            out.name("sempos");
+            this.integers.write(out, module.sempos());
+            out.name("type");
+            this.strings.write(out, module.type());
+            out.name("frequency");
+            this.strings.write(out, module.frequency());
+            out.name("weight");
+            this.integers.write(out, module.weight());
+            out.name("duration");
+            this.integers.write(out, module.duration());
+            out.name("responsible");
+            this.strings.write(out, module.responsible());
+            out.name("contacthoursfactor");
+            this.strings.write(out, module.contacthoursfactor());
+            out.name("homehoursfactor");
+            this.strings.write(out, module.homehoursfactor());
+            out.name("ectsfactor");
+            this.strings.write(out, module.ectsfactor());
+            out.name("specialization");
+            this.strings.write(out, module.specialization());
+            out.name("specializationnumber");
+            this.integers.write(out, module.specializationnumber());
+            out.endObject();
+        }
+
+    }
+
+    private static class MetaModuleGuideAdapter extends TypeAdapter<MetaModuleGuide> {
+
+        private final TypeAdapter<Integer> integers;
+
+        private final TypeAdapter<List<Integer>> integerLists;
+
+        private final TypeAdapter<Language> languages;
+
+        private final TypeAdapter<CurriculumMode> modes;
+
+        private final TypeAdapter<List<MetaModule>> moduleLists;
+
+        private final TypeAdapter<SemesterType> semesterTypes;
+
+        private final TypeAdapter<Signature> signatures;
+
+        private final TypeAdapter<List<String>> stringLists;
+
+        private final TypeAdapter<String> strings;
+
+        private MetaModuleGuideAdapter(final Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.languages = gson.getAdapter(Language.class);
+            this.modes = gson.getAdapter(CurriculumMode.class);
+            this.semesterTypes = gson.getAdapter(SemesterType.class);
+            this.signatures = gson.getAdapter(Signature.class);
+            this.strings = gson.getAdapter(String.class);
+            this.integerLists = gson.getAdapter(new TypeToken<List<Integer>>() {});
+            this.moduleLists = gson.getAdapter(new TypeToken<List<MetaModule>>() {});
+            this.stringLists = gson.getAdapter(new TypeToken<List<String>>() {});
+        }
+
+        @Override
+        public MetaModuleGuide read(final JsonReader in) throws IOException {
+            String subject = null;
+            String degree = null;
+            CurriculumMode mode = null;
+            SemesterType semestertype = null;
+            String year = null;
+            int startquarter = 0;
+            Integer workphaseswitch = null;
+            Language generallanguage = null;
+            List<Integer> pagebreaks = null;
+            List<Integer> pagebreaksspecialization = null;
+            Signature signature = null;
+            List<String> specializationorder = null;
+            List<MetaModule> modules = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "subject":
+                    subject = this.strings.read(in);
+                    break;
+                case "degree":
+                    degree = this.strings.read(in);
+                    break;
+                case "mode":
+                    mode = this.modes.read(in);
+                    break;
+                case "semestertype":
+                    semestertype = this.semesterTypes.read(in);
+                    break;
+                case "year":
+                    year = this.strings.read(in);
+                    break;
+                case "startquarter":
+                    startquarter = ModelTypeAdapterFactory.readInt(this.integers, in, "startquarter");
+                    break;
+                case "workphaseswitch":
+                    workphaseswitch = this.integers.read(in);
+                    break;
+                case "generallanguage":
+                    generallanguage = this.languages.read(in);
+                    break;
+                case "pagebreaks":
+                    pagebreaks = this.integerLists.read(in);
+                    break;
+                case "pagebreaksspecialization":
+                    pagebreaksspecialization = this.integerLists.read(in);
+                    break;
+                case "signature":
+                    signature = this.signatures.read(in);
+                    break;
+                case "specializationorder":
+                    specializationorder = this.stringLists.read(in);
+                    break;
+                case "modules":
+                    modules = this.moduleLists.read(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new MetaModuleGuide(
+                subject,
+                degree,
+                mode,
+                semestertype,
+                year,
+                startquarter,
+                workphaseswitch,
+                generallanguage,
+                pagebreaks,
+                pagebreaksspecialization,
+                signature,
+                specializationorder,
+                modules
+            );
+        }
+
+        @Override
+        public void write(final JsonWriter out, final MetaModuleGuide guide) throws IOException {
+            out.beginObject();
+            out.name("subject");
+            this.strings.write(out, guide.subject());
+            out.name("degree");
+            this.strings.write(out, guide.degree());
+            out.name("mode");
+            this.modes.write(out, guide.mode());
+            out.name("semestertype");
+            this.semesterTypes.write(out, guide.semestertype());
+            out.name("year");
+            this.strings.write(out, guide.year());
+            out.name("startquarter");
+            this.integers.write(out, guide.startquarter());
+            out.name("workphaseswitch");
+            this.integers.write(out, guide.workphaseswitch());
+            out.name("generallanguage");
+            this.languages.write(out, guide.generallanguage());
+            out.name("pagebreaks");
+            this.integerLists.write(out, guide.pagebreaks());
+            out.name("pagebreaksspecialization");
+            this.integerLists.write(out, guide.pagebreaksspecialization());
+            out.name("signature");
+            this.signatures.write(out, guide.signature());
+            out.name("specializationorder");
+            this.stringLists.write(out, guide.specializationorder());
+            out.name("modules");
+            this.moduleLists.write(out, guide.modules());
+            out.endObject();
+        }
+
+    }
+
+    private static class RawModuleAdapter extends TypeAdapter<RawModule> {
+
+        private final TypeAdapter<List<Chapter>> chapterLists;
+
+        private final TypeAdapter<Integer> integers;
+
+        private final TypeAdapter<List<Language>> languageLists;
+
+        private final TypeAdapter<Language> languages;
+
+        private final TypeAdapter<List<String>> stringLists;
+
+        private final TypeAdapter<String> strings;
+
+        private RawModuleAdapter(final Gson gson) {
+            this.integers = gson.getAdapter(Integer.class);
+            this.languages = gson.getAdapter(Language.class);
+            this.strings = gson.getAdapter(String.class);
+            this.chapterLists = gson.getAdapter(new TypeToken<List<Chapter>>() {});
+            this.languageLists = gson.getAdapter(new TypeToken<List<Language>>() {});
+            this.stringLists = gson.getAdapter(new TypeToken<List<String>>() {});
+        }
+
+        @Override
+        public RawModule read(final JsonReader in) throws IOException {
+            String title = null;
+            String responsible = null;
+            List<String> teachers = null;
+            Language teachinglanguage = null;
+            List<Language> additionalteachinglanguages = null;
+            Language descriptionlanguage = null;
+            int ects = 0;
+            int contacthours = 0;
+            int homehours = 0;
+            String examination = null;
+            List<String> keywords = null;
+            List<String> preconditions = null;
+            List<String> recommendations = null;
+            List<String> usability = null;
+            String competenciespreface = null;
+            List<String> competencies = null;
+            List<String> teachingmethods = null;
+            String teachingpostface = null;
+            List<Chapter> content = null;
+            List<String> requiredliterature = null;
+            List<String> optionalliterature = null;
+            String comment = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                case "title":
+                    title = this.strings.read(in);
+                    break;
+                case "responsible":
+                    responsible = this.strings.read(in);
+                    break;
+                case "teachers":
+                    teachers = this.stringLists.read(in);
+                    break;
+                case "teachinglanguage":
+                    teachinglanguage = this.languages.read(in);
+                    break;
+                case "additionalteachinglanguages":
+                    additionalteachinglanguages = this.languageLists.read(in);
+                    break;
+                case "descriptionlanguage":
+                    descriptionlanguage = this.languages.read(in);
+                    break;
+                case "ects":
+                    ects = ModelTypeAdapterFactory.readInt(this.integers, in, "ects");
+                    break;
+                case "contacthours":
+                    contacthours = ModelTypeAdapterFactory.readInt(this.integers, in, "contacthours");
+                    break;
+                case "homehours":
+                    homehours = ModelTypeAdapterFactory.readInt(this.integers, in, "homehours");
+                    break;
+                case "examination":
+                    examination = this.strings.read(in);
+                    break;
+                case "keywords":
+                    keywords = this.stringLists.read(in);
+                    break;
+                case "preconditions":
+                    preconditions = this.stringLists.read(in);
+                    break;
+                case "recommendations":
+                    recommendations = this.stringLists.read(in);
+                    break;
+                case "usability":
+                    usability = this.stringLists.read(in);
+                    break;
+                case "competenciespreface":
+                    competenciespreface = this.strings.read(in);
+                    break;
+                case "competencies":
+                    competencies = this.stringLists.read(in);
+                    break;
+                case "teachingmethods":
+                    teachingmethods = this.stringLists.read(in);
+                    break;
+                case "teachingpostface":
+                    teachingpostface = this.strings.read(in);
+                    break;
+                case "content":
+                    content = this.chapterLists.read(in);
+                    break;
+                case "requiredliterature":
+                    requiredliterature = this.stringLists.read(in);
+                    break;
+                case "optionalliterature":
+                    optionalliterature = this.stringLists.read(in);
+                    break;
+                case "comment":
+                    comment = this.strings.read(in);
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+                }
+            }
+            in.endObject();
+            return new RawModule(
+                title,
+                responsible,
+                teachers,
+                teachinglanguage,
+                additionalteachinglanguages,
+                descriptionlanguage,
+                ects,
+                contacthours,
+                homehours,
+                examination,
+                keywords,
+                preconditions,
+                recommendations,
+                usability,
+                competenciespreface,
+                competencies,
+                teachingmethods,
+                teachingpostface,
+                content,
+                requiredliterature,
+                optionalliterature,
+                comment
+            );
+        }
+
+        @Override
+        public void write(final JsonWriter out, final RawModule module) throws IOException {
+            out.beginObject();
+            out.name("title");
+            this.strings.write(out, module.title());
+            out.name("responsible");
+            this.strings.write(out, module.responsible());
+            out.name("teachers");
+            this.stringLists.write(out, module.teachers());
+            out.name("teachinglanguage");
+            this.languages.write(out, module.teachinglanguage());
+            out.name("additionalteachinglanguages");
+            this.languageLists.write(out, module.additionalteachinglanguages());
+            out.name("descriptionlanguage");
+            this.languages.write(out, module.descriptionlanguage());
+            out.name("ects");
+            this.integers.write(out, module.ects());
+            out.name("contacthours");
+            this.integers.write(out, module.contacthours());
+            out.name("homehours");
+            this.integers.write(out, module.homehours());
+            out.name("examination");
+            this.strings.write(out, module.examination());
+            out.name("keywords");
+            this.stringLists.write(out, module.keywords());
+            out.name("preconditions");
+            this.stringLists.write(out, module.preconditions());
+            out.name("recommendations");
+            this.stringLists.write(out, module.recommendations());
+            out.name("usability");
+            this.stringLists.write(out, module.usability());
+            out.name("competenciespreface");
+            this.strings.write(out, module.competenciespreface());
+            out.name("competencies");
+            this.stringLists.write(out, module.competencies());
+            out.name("teachingmethods");
+            this.stringLists.write(out, module.teachingmethods());
+            out.name("teachingpostface");
+            this.strings.write(out, module.teachingpostface());
+            out.name("content");
+            this.chapterLists.write(out, module.content());
+            out.name("requiredliterature");
+            this.stringLists.write(out, module.requiredliterature());
+            out.name("optionalliterature");
+            this.stringLists.write(out, module.optionalliterature());
+            out.name("comment");
+            this.strings.write(out, module.comment());
+            out.endObject();
+        }
+
+    }
+
+    private static int readInt(final TypeAdapter<Integer> integers, final JsonReader in, final String name)
+    throws IOException {
+        final Integer value = integers.read(in);
+        if (value == null) {
+            throw new JsonParseException(
+                String.format(
+                    "null is not allowed as value for record component '%s' of primitive type; at path %s",
+                    name,
+                    in.getPath()
+                )
+            );
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(final Gson gson, final TypeToken<T> type) {
+        final Class<? super T> raw = type.getRawType();
+        final TypeAdapter<?> adapter;
+        if (raw == Chapter.class) {
+            adapter = new ChapterAdapter(gson);
+        } else if (raw == ForeignModule.class) {
+            adapter = new ForeignModuleAdapter(gson);
+        } else if (raw == Match.class) {
+            adapter = new MatchAdapter(gson);
+        } else if (raw == MetaModule.class) {
+            adapter = new MetaModuleAdapter(gson);
+        } else if (raw == MetaModuleGuide.class) {
+            adapter = new MetaModuleGuideAdapter(gson);
+        } else if (raw == RawModule.class) {
+            adapter = new RawModuleAdapter(gson);
+        } else {
+            return null;
+        }
+        return (TypeAdapter<T>)adapter.nullSafe();
+    }
+
+}
@@ -4,20 +4,16 @@ import java.io.*;
 import java.time.*;
 import java.util.*;
 import java.util.logging.*;
-import java.util.regex.*;
 import java.util.stream.*;
 
-import com.google.gson.*;
-
 import moduleguidehelper.*;
+import moduleguidehelper.events.*;
 import moduleguidehelper.internationalization.*;
 import moduleguidehelper.model.*;
 import moduleguidehelper.model.Module;
 
 public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
 
-    private static final Pattern ESCAPE_PATTERN = Pattern.compile("\\$\\$([^\\$]|\\$[^\\$])+\\$\\$");
-
     private static final String OVERVIEW_FIRST_COL_SIZE = "7.2cm";
 
     private static final String OVERVIEW_FIRST_COL_SIZE_ELECTIVE = "5.7cm";
@@ -30,38 +26,41 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         if (text == null) {
             return "";
         }
-        final Matcher matcher = ModuleGuideLaTeXWriter.ESCAPE_PATTERN.matcher(text);
-        final List<Integer> indices = new LinkedList<Integer>();
-        while (matcher.find()) {
-            indices.add(matcher.start());
-            indices.add(matcher.end());
+        final StringBuilder result = new StringBuilder(text.length() + 16);
+        ModuleGuideLaTeXWriter.escapeForLaTeX(text, considerLaTeXCode, result);
+        return result.toString();
+    }
+
+    public static void escapeForLaTeX(
+        final String text,
+        final boolean considerLaTeXCode,
+        final StringBuilder result
+    ) {
+        if (text == null) {
+            return;
         }
-        indices.add(text.length());
-        final StringBuilder result = new StringBuilder();
-        boolean escape = true;
+        final int length = text.length();
         int from = 0;
-        for (final Integer index : indices) {
-            if (escape) {
-                result.append(
-                    text
-                    .substring(from, index)
-                    .replaceAll("\\\\", "\\\\textbackslash")
-                    .replaceAll("([&\\$%\\{\\}_#])", "\\\\$1")
-                    .replaceAll("~", "\\\\textasciitilde{}")
-                    .replaceAll("\\^", "\\\\textasciicircum{}")
-                    .replaceAll("\\\\textbackslash", "\\\\textbackslash{}")
-                    .replaceAll("([^\\\\])\"", "$1''")
-                    .replaceAll("^\"", "''")
-                    .replaceAll("\u00a0", "~")
-                    .replaceAll("\u202f", "\\,")
-                );
-            } else if (considerLaTeXCode) {
-                result.append(text.substring(from + 2, index - 2));
+        int index = 0;
+        while (index < length - 1) {
+            if (text.charAt(index) == '$' && text.charAt(index + 1) == '$') {
+                final int end = ModuleGuideLaTeXWriter.findEndOfLaTeXCode(text, index);
+                if (end < 0) {
+                    break;
+                }
+                if (end > 0) {
+                    ModuleGuideLaTeXWriter.escapeTextForLaTeX(text, from, index, result);
+                    if (considerLaTeXCode) {
+                        result.append(text, index + 2, end - 2);
+                    }
+                    from = end;
+                    index = end;
+                    continue;
+                }
             }
-            from = index;
-            escape = !escape;
+            index++;
         }
-        return result.toString();
+        ModuleGuideLaTeXWriter.escapeTextForLaTeX(text, from, length, result);
     }
 
     public static void writeModule(
@@ -69,7 +68,7 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         final RawModule module,
         final Optional<String> optionalResponsible,
         final int weightSum,
-        final File modulesFolder,
+        final ModuleRepository repository,
         final BufferedWriter writer
     ) throws IOException {
         ModuleGuideLaTeXWriter.writeDocumentStartStatic(true, writer);
@@ -85,8 +84,7 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
             ),
             optionalResponsible,
             weightSum,
-            List.of(),
-            modulesFolder,
+            new ModuleLookup(repository, List.of()),
             writer
         );
         ModuleGuideLaTeXWriter.writeDocumentEndStatic(writer);
@@ -147,6 +145,75 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         return numbers.stream().map(ModuleStats::toRomanNumeral).collect(Collectors.joining(", "));
     }
 
+    private static void escapeTextForLaTeX(
+        final String text,
+        final int from,
+        final int to,
+        final StringBuilder result
+    ) {
+        boolean previous = false;
+        for (int i = from; i < to; i++) {
+            final char c = text.charAt(i);
+            if (c == '"') {
+                if (previous) {
+                    result.append("''");
+                    previous = false;
+                } else {
+                    result.append(i == from ? "''" : "\"");
+                    previous = true;
+                }
+                continue;
+            }
+            switch (c) {
+            case '\\':
+                result.append("\\textbackslash{}");
+                break;
+            case '&':
+            case '$':
+            case '%':
+            case '{':
+            case '}':
+            case '_':
+            case '#':
+                result.append('\\');
+                result.append(c);
+                break;
+            case '~':
+                result.append("\\textasciitilde{}");
+                break;
+            case '^':
+                result.append("\\textasciicircum{}");
+                break;
+            case '\u00a0':
+                result.append('~');
+                break;
+            case '\u202f':
+                result.append(',');
+                break;
+            default:
+                result.append(c);
+            }
+            previous = true;
+        }
+    }
+
+    private static int findEndOfLaTeXCode(final String text, final int start) {
+        final int length = text.length();
+        int index = start + 2;
+        while (index < length) {
+            if (text.charAt(index) != '$') {
+                index++;
+            } else if (index + 1 == length) {
+                return -1;
+            } else if (text.charAt(index + 1) == '$') {
+                return index > start + 2 ? index + 2 : 0;
+            } else {
+                index += 2;
+            }
+        }
+        return -1;
+    }
+
     private static String formatExamination(final String examination, final Internationalization internationalization) {
         if (examination == null || examination.isBlank()) {
             return "\\textbf{\\textcolor{red}{ANGABEN FEHLEN!}}";
@@ -175,42 +242,24 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         return text != null && !text.isBlank();
     }
 
-    private static String lookupModule(
-        final String id,
-        final File modulesFolder,
-        final List<String> linkable
-    ) {
-        if (id.startsWith("!")) {
-            return ModuleGuideLaTeXWriter.escapeForLaTeX(id.substring(1));
-        }
-        final File json = modulesFolder.toPath().resolve(id.toLowerCase() + ".json").toFile();
-        if (json.exists()) {
-            final RawModule raw;
-            try (FileReader reader = new FileReader(json)) {
-                raw = Main.GSON.fromJson(reader, RawModule.class);
-            } catch (final IOException | JsonSyntaxException e) {
-                return ModuleGuideLaTeXWriter.escapeForLaTeX(id);
-            }
-            final String title = ModuleGuideLaTeXWriter.escapeForLaTeX(raw.title());
-            if (linkable.contains(id)) {
-                return String.format("\\hyperref[sec:%s]{%s}", id, title);
-            }
-            return title;
-        } else {
-            Main.LOGGER.log(Level.WARNING, "Lookup failed for: " + id);
-        }
-        return ModuleGuideLaTeXWriter.escapeForLaTeX(id);
-    }
-
-    private static List<String> lookupModules(
-        final List<String> ids,
-        final File modulesFolder,
-        final List<String> linkable
-    ) {
-        if (ids == null) {
-            return List.of();
+    private static List<String> renderModules(
+        final List<Module> modules,
+        final int weightSum,
+        final ModuleLookup lookup
+    ) throws IOException {
+        try {
+            return modules.parallelStream().map(module -> {
+                final StringWriter buffer = new StringWriter();
+                try (BufferedWriter writer = new BufferedWriter(buffer)) {
+                    ModuleGuideLaTeXWriter.writeModule(module, Optional.empty(), weightSum, lookup, writer);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return buffer.toString();
+            }).toList();
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
         }
-        return ids.stream().map(id -> ModuleGuideLaTeXWriter.lookupModule(id, modulesFolder, linkable)).toList();
     }
 
     private static List<List<Chapter>> separateContentsByHints(final List<Chapter> content) {
@@ -246,12 +295,17 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
     }
 
     private static void writeCommaSeparated(final List<String> items, final BufferedWriter writer) throws IOException {
-        writer.write(
-            items
-            .stream()
-            .map(ModuleGuideLaTeXWriter::escapeForLaTeX)
-            .collect(Collectors.joining(", "))
-        );
+        final StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (final String item : items) {
+            if (first) {
+                first = false;
+            } else {
+                result.append(", ");
+            }
+            ModuleGuideLaTeXWriter.escapeForLaTeX(item, true, result);
+        }
+        writer.append(result);
         Main.newLine(writer);
     }
 
@@ -850,8 +904,7 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
     private static void writeLookupSection(
         final String section,
         final List<String> items,
-        final File modulesFolder,
-        final List<String> linkable,
+        final ModuleLookup lookup,
         final String none,
         final BufferedWriter writer
     ) throws IOException {
@@ -861,7 +914,7 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         Main.newLine(writer);
         Main.newLine(writer);
         ModuleGuideLaTeXWriter.writeItemize(
-            ModuleGuideLaTeXWriter.lookupModules(items, modulesFolder, linkable),
+            lookup.lookup(items),
             none,
             false,
             writer
@@ -872,10 +925,11 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         final Module module,
         final Optional<String> optionalResponsible,
         final int weightSum,
-        final List<String> linkable,
-        final File modulesFolder,
+        final ModuleLookup lookup,
         final BufferedWriter writer
     ) throws IOException {
+        final ModuleRendered event = new ModuleRendered();
+        event.begin();
         try {
             if (module.module() == null) {
                 Main.LOGGER.log(Level.SEVERE, module.meta().module());
@@ -908,16 +962,14 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
             ModuleGuideLaTeXWriter.writeLookupSection(
                 internationalization.internationalize(InternationalizationKey.REQUIREMENTS),
                 module.module().preconditions(),
-                modulesFolder,
-                linkable,
+                lookup,
                 none,
                 writer
             );
             ModuleGuideLaTeXWriter.writeLookupSection(
                 internationalization.internationalize(InternationalizationKey.RECOMMENDATIONS),
                 module.module().recommendations(),
-                modulesFolder,
-                linkable,
+                lookup,
                 none,
                 writer
             );
@@ -939,6 +991,9 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
             writer.write("\\clearpage");
             Main.newLine(writer);
             Main.newLine(writer);
+            Metrics.count(Metrics.Counter.MODULES_RENDERED);
+            event.module = module.meta().module();
+            event.commit();
         } catch (final Exception e) {
             final String message = String.format("Exception in module %s: %s", module.meta().module(), e.getMessage());
             Main.LOGGER.log(Level.SEVERE, message);
@@ -1110,8 +1165,16 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
         Main.newLine(writer);
     }
 
+    private boolean parallel;
+
     public ModuleGuideLaTeXWriter(final ModuleGuide guide) {
         super(guide);
+        this.parallel = false;
+    }
+
+    public ModuleGuideLaTeXWriter setParallel(final boolean parallel) {
+        this.parallel = parallel;
+        return this;
     }
 
     @Override
@@ -1173,15 +1236,22 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
     @Override
     protected void writeModules(
         final int weightSum,
-        final File modulesFolder,
+        final ModuleRepository modules,
         final BufferedWriter writer
     ) throws IOException {
         final Internationalization internationalization = this.guide.generalLanguage().getInternationalization();
-        final List<String> linkable = this.guide.modules().stream().map(module -> module.meta().module()).toList();
+        final ModuleLookup lookup =
+            new ModuleLookup(
+                modules,
+                this.guide.modules().stream().map(module -> module.meta().module()).toList()
+            );
         String specialization = "";
         int semester = 0;
+        int index = 0;
         final List<Module> sortedModules =
             this.guide.modules().stream().sorted(Module.createComparator(this.guide.specializationOrder())).toList();
+        final List<String> sections =
+            this.parallel ? ModuleGuideLaTeXWriter.renderModules(sortedModules, weightSum, lookup) : null;
         for (final Module module : sortedModules) {
             try {
                 if (module.meta().specialization() != null && !specialization.equals(module.meta().specialization())) {
@@ -1222,20 +1292,24 @@ public class ModuleGuideLaTeXWriter extends ModuleGuideWriter {
                     Main.newLine(writer);
                     Main.newLine(writer);
                 }
-                ModuleGuideLaTeXWriter.writeModule(
-                    module,
-                    Optional.empty(),
-                    weightSum,
-                    linkable,
-                    modulesFolder,
-                    writer
-                );
+                if (sections == null) {
+                    ModuleGuideLaTeXWriter.writeModule(
+                        module,
+                        Optional.empty(),
+                        weightSum,
+                        lookup,
+                        writer
+                    );
+                } else {
+                    writer.write(sections.get(index));
+                }
             } catch (final Exception e) {
                 throw new IOException(
                     String.format("Exception in module %s: %s", module.meta().module(), e.getMessage()),
                     e
                 );
             }
+            index++;
         }
     }
 
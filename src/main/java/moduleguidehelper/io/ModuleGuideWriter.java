@@ -12,14 +12,20 @@ public abstract class ModuleGuideWriter {
         this.guide = guide;
     }
 
-    public void write(final File modulesFolder, final BufferedWriter writer) throws IOException {
+    public void write(final ModuleRepository modules, final BufferedWriter writer) throws IOException {
+        final long start = Metrics.start();
         this.writeDocumentStart(writer);
         this.writeTitlePage(writer);
         this.writeIntro(writer);
+        final long overviewStart = Metrics.start();
         final ModuleOverview overview = ModuleOverviewBuilder.create(this.guide);
         this.writeOverview(overview, writer);
-        this.writeModules(overview.weightSum(), modulesFolder, writer);
+        Metrics.stop(Metrics.Phase.OVERVIEW, overviewStart);
+        final long modulesStart = Metrics.start();
+        this.writeModules(overview.weightSum(), modules, writer);
+        Metrics.stop(Metrics.Phase.MODULES, modulesStart);
         this.writeDocumentEnd(writer);
+        Metrics.stop(Metrics.Phase.RENDERING, start);
     }
 
     protected abstract void writeDocumentEnd(final BufferedWriter writer) throws IOException;
@@ -30,7 +36,7 @@ public abstract class ModuleGuideWriter {
 
     protected abstract void writeModules(
         final int weightSum,
-        final File modulesFolder,
+        final ModuleRepository modules,
         final BufferedWriter writer
     ) throws IOException;
 
@@ -0,0 +1,60 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.*;
+
+import com.google.gson.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class ModuleLookup {
+
+    private final Map<String, String> cache;
+
+    private final Set<String> linkable;
+
+    private final ModuleRepository modules;
+
+    public ModuleLookup(final ModuleRepository modules, final Collection<String> linkable) {
+        this.modules = modules;
+        this.linkable = new HashSet<String>(linkable);
+        this.cache = new ConcurrentHashMap<String, String>();
+    }
+
+    public String lookup(final String id) {
+        return this.cache.computeIfAbsent(id, this::lookupUncached);
+    }
+
+    public List<String> lookup(final List<String> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+        return ids.stream().map(this::lookup).toList();
+    }
+
+    private String lookupUncached(final String id) {
+        if (id.startsWith("!")) {
+            return ModuleGuideLaTeXWriter.escapeForLaTeX(id.substring(1));
+        }
+        if (this.modules.contains(id)) {
+            final RawModule raw;
+            try {
+                raw = this.modules.get(id);
+            } catch (final IOException | JsonSyntaxException e) {
+                return ModuleGuideLaTeXWriter.escapeForLaTeX(id);
+            }
+            final String title = ModuleGuideLaTeXWriter.escapeForLaTeX(raw.title());
+            if (this.linkable.contains(id)) {
+                return String.format("\\hyperref[sec:%s]{%s}", id, title);
+            }
+            return title;
+        } else {
+            Main.LOGGER.log(Level.WARNING, "Lookup failed for: " + id);
+        }
+        return ModuleGuideLaTeXWriter.escapeForLaTeX(id);
+    }
+
+}
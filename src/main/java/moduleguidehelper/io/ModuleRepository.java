@@ -0,0 +1,88 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class ModuleRepository {
+
+    public static ModuleRepository open(final File modulesFolder) throws IOException {
+        final File root = modulesFolder.getAbsoluteFile().getParentFile();
+        if (root.toPath().resolve(Main.CACHE).toFile().isDirectory()) {
+            return new ModuleRepository(modulesFolder, Optional.of(ModuleSnapshot.load(root)));
+        }
+        return new ModuleRepository(modulesFolder);
+    }
+
+    private static String toKey(final String id) {
+        return id.toLowerCase();
+    }
+
+    private final Map<String, Optional<RawModule>> cache;
+
+    private final File modulesFolder;
+
+    private final Optional<ModuleSnapshot> snapshot;
+
+    public ModuleRepository(final File modulesFolder) {
+        this(modulesFolder, Optional.empty());
+    }
+
+    private ModuleRepository(final File modulesFolder, final Optional<ModuleSnapshot> snapshot) {
+        this.modulesFolder = modulesFolder;
+        this.snapshot = snapshot;
+        this.cache = new ConcurrentHashMap<String, Optional<RawModule>>();
+    }
+
+    public boolean contains(final String id) {
+        return this.cache.containsKey(ModuleRepository.toKey(id)) || this.getFile(id).exists();
+    }
+
+    public RawModule get(final String id) throws IOException {
+        final String key = ModuleRepository.toKey(id);
+        final Optional<RawModule> cached = this.cache.get(key);
+        if (cached != null) {
+            Metrics.count(Metrics.Counter.CACHE_HITS);
+            return cached.orElse(null);
+        }
+        final RawModule module = this.read(this.getFile(id), RawModule.class);
+        final Optional<RawModule> previous = this.cache.putIfAbsent(key, Optional.ofNullable(module));
+        return previous == null ? module : previous.orElse(null);
+    }
+
+    public File getFile(final String id) {
+        final File file = this.modulesFolder.toPath().resolve(ModuleRepository.toKey(id) + ".json").toFile();
+        if (file.exists()) {
+            return file;
+        }
+        final File exact = this.modulesFolder.toPath().resolve(id + ".json").toFile();
+        return exact.exists() ? exact : file;
+    }
+
+    public File getModulesFolder() {
+        return this.modulesFolder;
+    }
+
+    public <T> T read(final File json, final Class<T> type) throws IOException {
+        if (this.snapshot.isPresent()) {
+            return this.snapshot.get().read(json, type);
+        }
+        final long start = Metrics.start();
+        try (FileReader reader = new FileReader(json)) {
+            Metrics.count(Metrics.Counter.FILES_READ);
+            return Main.GSON.fromJson(reader, type);
+        } finally {
+            Metrics.stop(Metrics.Phase.JSON, start);
+        }
+    }
+
+    public void saveSnapshot() throws IOException {
+        if (this.snapshot.isPresent()) {
+            this.snapshot.get().save();
+        }
+    }
+
+}
@@ -0,0 +1,293 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.*;
+import java.util.stream.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class ModuleSnapshot {
+
+    private static record Entry(long lastModified, long size, Object value) {}
+
+    private static final Map<Class<?>, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<Class<?>, Constructor<?>>();
+
+    private static final List<Class<?>> ROOTS = List.of(MetaModuleGuide.class, RawModule.class);
+
+    private static final String SCHEMA = ModuleSnapshot.schema();
+
+    private static final String SNAPSHOT = "modules.bin";
+
+    public static ModuleSnapshot load(final File root) throws IOException {
+        final File file = Main.getCacheDirectory(root).toPath().resolve(ModuleSnapshot.SNAPSHOT).toFile();
+        final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+        if (file.exists()) {
+            try (
+                DataInputStream input =
+                    new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))
+            ) {
+                if (Main.VERSION.equals(input.readUTF()) && ModuleSnapshot.SCHEMA.equals(input.readUTF())) {
+                    final int count = ModuleSnapshot.readLength(input);
+                    for (int i = 0; i < count; i++) {
+                        final String key = ModuleSnapshot.readString(input);
+                        final long lastModified = input.readLong();
+                        final long size = input.readLong();
+                        final int type = input.readUnsignedByte();
+                        if (type >= ModuleSnapshot.ROOTS.size()) {
+                            throw new IOException("Unknown snapshot type!");
+                        }
+                        final Object value = ModuleSnapshot.readValue(input, ModuleSnapshot.ROOTS.get(type));
+                        entries.put(key, new Entry(lastModified, size, value));
+                    }
+                    if (input.read() != -1) {
+                        throw new IOException("Trailing snapshot data!");
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                Main.LOGGER.log(Level.WARNING, String.format("Ignoring corrupt module snapshot %s!", file.getPath()));
+                entries.clear();
+            }
+        }
+        return new ModuleSnapshot(file, entries);
+    }
+
+    private static Constructor<?> constructor(final Class<?> record) {
+        return ModuleSnapshot.CONSTRUCTORS.computeIfAbsent(
+            record,
+            clazz -> {
+                try {
+                    return clazz.getDeclaredConstructor(
+                        Arrays.stream(clazz.getRecordComponents())
+                        .map(RecordComponent::getType)
+                        .toArray(Class<?>[]::new)
+                    );
+                } catch (final NoSuchMethodException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        );
+    }
+
+    private static int readLength(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Invalid length in snapshot!");
+        }
+        return length;
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        return new String(input.readNBytes(ModuleSnapshot.readLength(input)), StandardCharsets.UTF_8);
+    }
+
+    private static Object readValue(final DataInputStream input, final Type type) throws IOException {
+        if (type == int.class) {
+            return input.readInt();
+        }
+        if (!input.readBoolean()) {
+            return null;
+        }
+        if (type == String.class) {
+            return ModuleSnapshot.readString(input);
+        }
+        if (type == Integer.class) {
+            return input.readInt();
+        }
+        if (type instanceof final ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+            final int size = ModuleSnapshot.readLength(input);
+            final List<Object> result = new ArrayList<Object>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(ModuleSnapshot.readValue(input, parameterized.getActualTypeArguments()[0]));
+            }
+            return result;
+        }
+        if (type instanceof final Class<?> clazz && clazz.isEnum()) {
+            final Object[] constants = clazz.getEnumConstants();
+            final int ordinal = input.readUnsignedShort();
+            if (ordinal >= constants.length) {
+                throw new IOException("Invalid enum constant in snapshot!");
+            }
+            return constants[ordinal];
+        }
+        if (type instanceof final Class<?> clazz && clazz.isRecord()) {
+            final RecordComponent[] components = clazz.getRecordComponents();
+            final Object[] values = new Object[components.length];
+            for (int i = 0; i < components.length; i++) {
+                values[i] = ModuleSnapshot.readValue(input, components[i].getGenericType());
+            }
+            try {
+                return ModuleSnapshot.constructor(clazz).newInstance(values);
+            } catch (final ReflectiveOperationException e) {
+                throw new IOException(e);
+            }
+        }
+        throw new IllegalStateException("Unsupported snapshot type " + type.getTypeName());
+    }
+
+    private static String schema() {
+        final Map<String, String> result = new TreeMap<String, String>();
+        final Deque<Type> pending = new ArrayDeque<Type>(ModuleSnapshot.ROOTS);
+        while (!pending.isEmpty()) {
+            final Type type = pending.pop();
+            if (type instanceof final ParameterizedType parameterized) {
+                if (parameterized.getRawType() != List.class) {
+                    throw new IllegalStateException("Unsupported snapshot type " + type.getTypeName());
+                }
+                pending.push(parameterized.getActualTypeArguments()[0]);
+            } else if (type == int.class || type == Integer.class || type == String.class) {
+                continue;
+            } else if (
+                type instanceof final Class<?> clazz
+                && clazz.getName().startsWith("moduleguidehelper.")
+                && (clazz.isRecord() || clazz.isEnum())
+            ) {
+                if (result.containsKey(clazz.getName())) {
+                    continue;
+                }
+                if (clazz.isRecord()) {
+                    final RecordComponent[] components = clazz.getRecordComponents();
+                    result.put(
+                        clazz.getName(),
+                        Arrays.stream(components)
+                        .map(component -> component.getName() + ":" + component.getGenericType().getTypeName())
+                        .collect(Collectors.joining(","))
+                    );
+                    for (final RecordComponent component : components) {
+                        pending.push(component.getGenericType());
+                    }
+                } else {
+                    result.put(
+                        clazz.getName(),
+                        Arrays.stream(clazz.getEnumConstants())
+                        .map(constant -> ((Enum<?>)constant).name())
+                        .collect(Collectors.joining(","))
+                    );
+                }
+            } else {
+                throw new IllegalStateException("Unsupported snapshot type " + type.getTypeName());
+            }
+        }
+        return result.toString();
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeValue(
+        final DataOutputStream output,
+        final Type type,
+        final Object value
+    ) throws IOException {
+        if (type == int.class) {
+            output.writeInt((Integer)value);
+            return;
+        }
+        output.writeBoolean(value != null);
+        if (value == null) {
+            return;
+        }
+        if (type == String.class) {
+            ModuleSnapshot.writeString(output, (String)value);
+        } else if (type == Integer.class) {
+            output.writeInt((Integer)value);
+        } else if (
+            type instanceof final ParameterizedType parameterized
+            && parameterized.getRawType() == List.class
+        ) {
+            final List<?> list = (List<?>)value;
+            output.writeInt(list.size());
+            for (final Object element : list) {
+                ModuleSnapshot.writeValue(output, parameterized.getActualTypeArguments()[0], element);
+            }
+        } else if (type instanceof final Class<?> clazz && clazz.isEnum()) {
+            output.writeShort(((Enum<?>)value).ordinal());
+        } else if (type instanceof final Class<?> clazz && clazz.isRecord()) {
+            for (final RecordComponent component : clazz.getRecordComponents()) {
+                final Object componentValue;
+                try {
+                    componentValue = component.getAccessor().invoke(value);
+                } catch (final ReflectiveOperationException e) {
+                    throw new IOException(e);
+                }
+                ModuleSnapshot.writeValue(output, component.getGenericType(), componentValue);
+            }
+        } else {
+            throw new IllegalStateException("Unsupported snapshot type " + type.getTypeName());
+        }
+    }
+
+    private volatile boolean changed;
+
+    private final Map<String, Entry> entries;
+
+    private final File file;
+
+    private ModuleSnapshot(final File file, final Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+        this.changed = false;
+    }
+
+    public <T> T read(final File json, final Class<T> type) throws IOException {
+        final String key = json.getAbsolutePath();
+        final long lastModified = json.lastModified();
+        final long size = json.length();
+        final Entry entry = this.entries.get(key);
+        if (
+            entry != null
+            && entry.lastModified() == lastModified
+            && entry.size() == size
+            && type.isInstance(entry.value())
+        ) {
+            Metrics.count(Metrics.Counter.CACHE_HITS);
+            return type.cast(entry.value());
+        }
+        final long start = Metrics.start();
+        final T value;
+        try (FileReader reader = new FileReader(json)) {
+            Metrics.count(Metrics.Counter.FILES_READ);
+            value = Main.GSON.fromJson(reader, type);
+        } finally {
+            Metrics.stop(Metrics.Phase.JSON, start);
+        }
+        if (value != null && ModuleSnapshot.ROOTS.contains(type)) {
+            this.entries.put(key, new Entry(lastModified, size, value));
+            this.changed = true;
+        }
+        return value;
+    }
+
+    public void save() throws IOException {
+        this.changed |= this.entries.keySet().removeIf(key -> !new File(key).exists());
+        if (!this.changed) {
+            return;
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeUTF(Main.VERSION);
+            output.writeUTF(ModuleSnapshot.SCHEMA);
+            final Map<String, Entry> sorted = new TreeMap<String, Entry>(this.entries);
+            output.writeInt(sorted.size());
+            for (final Map.Entry<String, Entry> entry : sorted.entrySet()) {
+                final Class<?> type = entry.getValue().value().getClass();
+                ModuleSnapshot.writeString(output, entry.getKey());
+                output.writeLong(entry.getValue().lastModified());
+                output.writeLong(entry.getValue().size());
+                output.writeByte(ModuleSnapshot.ROOTS.indexOf(type));
+                ModuleSnapshot.writeValue(output, type, entry.getValue().value());
+            }
+        }
+        OutputFiles.writeIfChanged(this.file, bytes.toByteArray());
+        this.changed = false;
+    }
+
+}
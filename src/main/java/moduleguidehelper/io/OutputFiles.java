@@ -0,0 +1,80 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+public class OutputFiles {
+
+    private static final int COMPARE_BUFFER = 8192;
+
+    public static boolean writeIfChanged(final File file, final byte[] bytes) throws IOException {
+        final long start = Metrics.start();
+        try {
+            return OutputFiles.write(file, bytes);
+        } finally {
+            Metrics.stop(Metrics.Phase.OUTPUT, start);
+        }
+    }
+
+    public static boolean writeIfChanged(final File file, final String content) throws IOException {
+        return OutputFiles.writeIfChanged(file, content.getBytes(Charset.defaultCharset()));
+    }
+
+    private static void copyPermissions(final Path source, final Path target) throws IOException {
+        try {
+            Files.setPosixFilePermissions(target, Files.getPosixFilePermissions(source));
+        } catch (final UnsupportedOperationException e) {
+            return;
+        }
+    }
+
+    private static boolean hasContent(final Path path, final byte[] bytes) throws IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            final byte[] buffer = new byte[OutputFiles.COMPARE_BUFFER];
+            int offset = 0;
+            int read = input.read(buffer);
+            while (read >= 0) {
+                if (
+                    offset + read > bytes.length
+                    || !Arrays.equals(buffer, 0, read, bytes, offset, offset + read)
+                ) {
+                    return false;
+                }
+                offset += read;
+                read = input.read(buffer);
+            }
+            return offset == bytes.length;
+        }
+    }
+
+    private static boolean write(final File file, final byte[] bytes) throws IOException {
+        final Path target = file.toPath().toAbsolutePath();
+        if (
+            file.exists()
+            && file.length() == bytes.length
+            && OutputFiles.hasContent(target, bytes)
+        ) {
+            Metrics.count(Metrics.Counter.FILES_UNCHANGED);
+            return false;
+        }
+        final Path temporary = target.resolveSibling(file.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.write(temporary, bytes, StandardOpenOption.CREATE_NEW);
+            if (file.exists()) {
+                OutputFiles.copyPermissions(target, temporary);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        Metrics.count(Metrics.Counter.BYTES_WRITTEN, bytes.length);
+        return true;
+    }
+
+}
@@ -13,7 +13,7 @@ public class QuarterlyOverviewWriter {
         final File root,
         final File outputFile
     ) throws IOException {
-        final File modules = root.toPath().resolve("modules").toFile();
+        final ModuleRepository modules = ModuleRepository.open(root.toPath().resolve("modules").toFile());
         final Set<ModuleEntry> q1 = new TreeSet<ModuleEntry>();
         final Set<ModuleEntry> q2 = new TreeSet<ModuleEntry>();
         final Set<ModuleEntry> q3 = new TreeSet<ModuleEntry>();
@@ -72,7 +72,8 @@ public class QuarterlyOverviewWriter {
                 }
             }
         }
-        try (Writer writer = new BufferedWriter(new FileWriter(outputFile))) {
+        final StringWriter content = new StringWriter();
+        try (Writer writer = new BufferedWriter(content)) {
             writer.write("\\documentclass{article}\n\n");
             writer.write("\\pdfinfoomitdate 1\n");
             writer.write("\\pdftrailerid{}\n");
@@ -99,6 +100,8 @@ public class QuarterlyOverviewWriter {
             QuarterlyOverviewWriter.writeQuarter("Q4", q4, writer);
             writer.write("\\end{document}\n");
         }
+        OutputFiles.writeIfChanged(outputFile, content.toString());
+        modules.saveSnapshot();
     }
 
     private static ModuleEntry toEntry(final ModuleStats stats) {
@@ -0,0 +1,9 @@
+package moduleguidehelper.model;
+
+import java.util.*;
+
+public class BuildFingerprints extends TreeMap<String, String> {
+
+    private static final long serialVersionUID = 1L;
+
+}
@@ -0,0 +1,42 @@
+package moduleguidehelper.model;
+
+import java.util.*;
+
+public record CitationReport(
+    int citations,
+    SortedMap<String, List<String>> unknownKeys,
+    SortedSet<String> unusedKeys,
+    SortedSet<String> emptyModules,
+    long milliseconds
+) {
+
+    public String describe() {
+        final StringBuilder result = new StringBuilder();
+        for (final String emptyModule : this.emptyModules()) {
+            result.append(String.format("Empty module file %s\n", emptyModule));
+        }
+        for (final Map.Entry<String, List<String>> unknown : this.unknownKeys().entrySet()) {
+            result.append(
+                String.format("Unknown keys in %s: %s\n", unknown.getKey(), String.join(", ", unknown.getValue()))
+            );
+        }
+        if (!this.unusedKeys().isEmpty()) {
+            result.append(String.format("Unused keys: %s\n", String.join(", ", this.unusedKeys())));
+        }
+        result.append(
+            String.format(
+                "Checked %d citations in %d ms: %d unknown, %d unused.",
+                this.citations(),
+                this.milliseconds(),
+                this.unknownKeys().values().stream().mapToInt(List::size).sum(),
+                this.unusedKeys().size()
+            )
+        );
+        return result.toString();
+    }
+
+    public int exitStatus() {
+        return this.unknownKeys().isEmpty() && this.emptyModules().isEmpty() ? 0 : 1;
+    }
+
+}
@@ -1,17 +1,243 @@
 package moduleguidehelper.model.bibtex;
 
 import java.util.*;
+import java.util.function.*;
 
 public class BibTeXDatabase extends ArrayList<BibTeXObject> {
 
+    private class IndexedSubList extends AbstractList<BibTeXObject> implements RandomAccess {
+
+        private final int offset;
+
+        private final List<BibTeXObject> view;
+
+        private IndexedSubList(final int offset, final List<BibTeXObject> view) {
+            this.offset = offset;
+            this.view = view;
+        }
+
+        @Override
+        public void add(final int index, final BibTeXObject object) {
+            this.view.add(index, object);
+            this.modCount++;
+        }
+
+        @Override
+        public BibTeXObject get(final int index) {
+            return this.view.get(index);
+        }
+
+        @Override
+        public BibTeXObject remove(final int index) {
+            final BibTeXObject result = this.view.remove(index);
+            this.modCount++;
+            return result;
+        }
+
+        @Override
+        public void replaceAll(final UnaryOperator<BibTeXObject> operator) {
+            this.view.replaceAll(operator);
+        }
+
+        @Override
+        public BibTeXObject set(final int index, final BibTeXObject object) {
+            this.view.get(index);
+            return BibTeXDatabase.this.set(this.offset + index, object);
+        }
+
+        @Override
+        public int size() {
+            return this.view.size();
+        }
+
+        @Override
+        public void sort(final Comparator<? super BibTeXObject> comparator) {
+            this.view.sort(comparator);
+        }
+
+        @Override
+        protected void removeRange(final int fromIndex, final int toIndex) {
+            this.view.subList(fromIndex, toIndex).clear();
+            this.modCount++;
+        }
+
+    }
+
     private static final long serialVersionUID = 1L;
 
+    private static <T> void add(final Map<String, List<T>> index, final String key, final T value) {
+        index.computeIfAbsent(key.toLowerCase(), k -> new ArrayList<T>(1)).add(value);
+    }
+
+    private static <T> void remove(final Map<String, List<T>> index, final String key, final T value) {
+        final String lowerCaseKey = key.toLowerCase();
+        final List<T> values = index.get(lowerCaseKey);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                index.remove(lowerCaseKey);
+            }
+        }
+    }
+
+    private static BibTeXObject unwrap(final BibTeXObject object) {
+        if (object instanceof final BibTeXCompoundObject compound) {
+            return BibTeXDatabase.unwrap(compound.object());
+        }
+        return object;
+    }
+
+    private transient Map<String, List<BibTeXEntry>> entries;
+
+    private transient int indexedModCount;
+
+    private transient Map<String, List<BibTeXString>> strings;
+
+    private transient Map<String, Integer> typeCounts;
+
     public BibTeXDatabase() {
         super();
+        this.rebuildIndex();
     }
 
     public BibTeXDatabase(final Collection<? extends BibTeXObject> c) {
         super(c);
+        this.rebuildIndex();
+    }
+
+    @Override
+    public boolean add(final BibTeXObject object) {
+        this.ensureIndex();
+        final boolean result = super.add(object);
+        this.index(object);
+        this.indexedModCount = this.modCount;
+        return result;
+    }
+
+    @Override
+    public void add(final int index, final BibTeXObject object) {
+        this.ensureIndex();
+        super.add(index, object);
+        this.index(object);
+        this.indexedModCount = this.modCount;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends BibTeXObject> c) {
+        this.ensureIndex();
+        final List<BibTeXObject> added = new ArrayList<BibTeXObject>(c);
+        final boolean result = super.addAll(added);
+        added.forEach(this::index);
+        this.indexedModCount = this.modCount;
+        return result;
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends BibTeXObject> c) {
+        this.ensureIndex();
+        final List<BibTeXObject> added = new ArrayList<BibTeXObject>(c);
+        final boolean result = super.addAll(index, added);
+        added.forEach(this::index);
+        this.indexedModCount = this.modCount;
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.rebuildIndex();
+    }
+
+    public boolean containsEntry(final String identifier) {
+        this.ensureIndex();
+        return this.entries.containsKey(identifier.toLowerCase());
+    }
+
+    public Optional<BibTeXEntry> getEntry(final String identifier) {
+        this.ensureIndex();
+        final List<BibTeXEntry> result = this.entries.get(identifier.toLowerCase());
+        return result == null ? Optional.empty() : Optional.of(result.getFirst());
+    }
+
+    public Optional<BibTeXString> getString(final String abbreviation) {
+        this.ensureIndex();
+        final List<BibTeXString> result = this.strings.get(abbreviation.toLowerCase());
+        return result == null ? Optional.empty() : Optional.of(result.getLast());
+    }
+
+    public Map<String, Integer> getTypeCounts() {
+        this.ensureIndex();
+        return Collections.unmodifiableMap(this.typeCounts);
+    }
+
+    @Override
+    public BibTeXObject remove(final int index) {
+        this.ensureIndex();
+        final BibTeXObject result = super.remove(index);
+        this.unindex(result);
+        this.indexedModCount = this.modCount;
+        return result;
+    }
+
+    @Override
+    public boolean remove(final Object object) {
+        this.ensureIndex();
+        final boolean result = super.remove(object);
+        if (result) {
+            this.unindex((BibTeXObject)object);
+        }
+        this.indexedModCount = this.modCount;
+        return result;
+    }
+
+    @Override
+    public BibTeXObject set(final int index, final BibTeXObject object) {
+        this.ensureIndex();
+        final BibTeXObject result = super.set(index, object);
+        this.unindex(result);
+        this.index(object);
+        return result;
+    }
+
+    @Override
+    public List<BibTeXObject> subList(final int fromIndex, final int toIndex) {
+        return new IndexedSubList(fromIndex, super.subList(fromIndex, toIndex));
+    }
+
+    private void ensureIndex() {
+        if (this.entries == null || this.indexedModCount != this.modCount) {
+            this.rebuildIndex();
+        }
+    }
+
+    private void index(final BibTeXObject object) {
+        final BibTeXObject unwrapped = BibTeXDatabase.unwrap(object);
+        if (unwrapped instanceof final BibTeXEntry entry) {
+            BibTeXDatabase.add(this.entries, entry.identifier(), entry);
+            this.typeCounts.merge(entry.type().toLowerCase(), 1, Integer::sum);
+        } else if (unwrapped instanceof final BibTeXString string) {
+            BibTeXDatabase.add(this.strings, string.identifier(), string);
+        }
+    }
+
+    private void rebuildIndex() {
+        this.entries = new HashMap<String, List<BibTeXEntry>>();
+        this.strings = new HashMap<String, List<BibTeXString>>();
+        this.typeCounts = new TreeMap<String, Integer>();
+        for (final BibTeXObject object : this) {
+            this.index(object);
+        }
+        this.indexedModCount = this.modCount;
+    }
+
+    private void unindex(final BibTeXObject object) {
+        final BibTeXObject unwrapped = BibTeXDatabase.unwrap(object);
+        if (unwrapped instanceof final BibTeXEntry entry) {
+            BibTeXDatabase.remove(this.entries, entry.identifier(), entry);
+            this.typeCounts.computeIfPresent(entry.type().toLowerCase(), (type, count) -> count == 1 ? null : count - 1);
+        } else if (unwrapped instanceof final BibTeXString string) {
+            BibTeXDatabase.remove(this.strings, string.identifier(), string);
+        }
     }
 
 }
@@ -2,11 +2,42 @@ package moduleguidehelper.model.bibtex;
 
 import java.math.*;
 
-public record BibTeXNumber(BigInteger number) implements BibTeXValue {
+public record BibTeXNumber(long value, BigInteger large) implements BibTeXValue {
+
+    public BibTeXNumber {
+        if (large != null) {
+            if (large.bitLength() < Long.SIZE) {
+                value = large.longValue();
+                large = null;
+            } else {
+                value = 0;
+            }
+        }
+    }
+
+    public BibTeXNumber(final BigInteger number) {
+        this(0, number);
+    }
+
+    public BibTeXNumber(final long value) {
+        this(value, null);
+    }
+
+    public BigInteger number() {
+        return this.large() == null ? BigInteger.valueOf(this.value()) : this.large();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BibTeXNumber[number=%s]", this.number());
+    }
 
     @Override
     public String toFormatString(final boolean brace) {
-        return String.format(brace ? "{%s}" : "\"%s\"", this.number().toString());
+        return String.format(
+            brace ? "{%s}" : "\"%s\"",
+            this.large() == null ? Long.toString(this.value()) : this.large().toString()
+        );
     }
 
 }
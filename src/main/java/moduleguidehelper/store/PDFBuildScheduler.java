@@ -0,0 +1,178 @@
+package moduleguidehelper.store;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.regex.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.events.*;
+import moduleguidehelper.io.*;
+
+public class PDFBuildScheduler {
+
+    static final String BIBER_INPUTS = ".biber.sha256";
+
+    private static final String[] AUXILIARY_EXTENSIONS = {".aux", ".toc", ".bcf", ".out"};
+
+    private static final Pattern DATASOURCE = Pattern.compile("<bcf:datasource[^>]*>([^<]*)</bcf:datasource>");
+
+    private static final int MAX_RERUNS = 3;
+
+    private static final int STEPS_PER_JOB = 5;
+
+    static String hashBiberInputs(final PDFJob job) throws IOException {
+        final File bcf = job.jobDirectory().toPath().resolve(job.fileName() + ".bcf").toFile();
+        final StringBuilder result = new StringBuilder(ContentHash.of(bcf));
+        if (bcf.exists()) {
+            final Matcher matcher = PDFBuildScheduler.DATASOURCE.matcher(Files.readString(bcf.toPath()));
+            while (matcher.find()) {
+                final String datasource = PDFBuildScheduler.unescapeXML(matcher.group(1).trim());
+                result.append(';');
+                result.append(datasource);
+                result.append('=');
+                result.append(ContentHash.of(job.directory().toPath().resolve(datasource).toFile()));
+            }
+        }
+        return result.toString();
+    }
+
+    static boolean isBiberUpToDate(final PDFJob job, final String biberInputs) throws IOException {
+        final Path jobDirectory = job.jobDirectory().toPath();
+        final File biberInputsFile = jobDirectory.resolve(job.fileName() + PDFBuildScheduler.BIBER_INPUTS).toFile();
+        return jobDirectory.resolve(job.fileName() + ".bbl").toFile().exists()
+            && biberInputsFile.exists()
+            && biberInputs.equals(Files.readString(biberInputsFile.toPath()));
+    }
+
+    private static String hashAuxiliaryFiles(final PDFJob job) throws IOException {
+        final StringBuilder result = new StringBuilder();
+        for (final String extension : PDFBuildScheduler.AUXILIARY_EXTENSIONS) {
+            result.append(ContentHash.of(job.jobDirectory().toPath().resolve(job.fileName() + extension).toFile()));
+            result.append(';');
+        }
+        return result.toString();
+    }
+
+    private static String unescapeXML(final String text) {
+        return text
+            .replace("&lt;", "<")
+            .replace("&gt;", ">")
+            .replace("&quot;", "\"")
+            .replace("&apos;", "'")
+            .replace("&amp;", "&");
+    }
+
+    private static void runPDFLaTeX(final String texFile, final PDFJob job) throws IOException, InterruptedException {
+        ExternalProcess.run(
+            Main.buildPDFLaTeXProcess(texFile, job.directory(), job.jobDirectory()),
+            60,
+            TimeUnit.SECONDS
+        );
+    }
+
+    private int current;
+
+    private final Consumer<Integer> progressListener;
+
+    private int total;
+
+    private final int workers;
+
+    public PDFBuildScheduler(final int workers, final Consumer<Integer> progressListener) {
+        this.workers = Math.max(1, workers);
+        this.progressListener = progressListener;
+    }
+
+    public List<PDFJob> build(final List<PDFJob> jobs) throws IOException, InterruptedException {
+        this.current = 0;
+        this.total = Math.max(1, PDFBuildScheduler.STEPS_PER_JOB * jobs.size());
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.workers, Math.max(1, jobs.size())));
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (final PDFJob job : jobs) {
+                futures.add(executor.submit(() -> this.buildPDF(job)));
+            }
+            final List<PDFJob> result = new ArrayList<PDFJob>();
+            final Iterator<PDFJob> jobIterator = jobs.iterator();
+            for (final Future<Boolean> future : futures) {
+                final PDFJob job = jobIterator.next();
+                try {
+                    if (future.get()) {
+                        result.add(job);
+                    }
+                } catch (final ExecutionException e) {
+                    if (e.getCause() instanceof final IOException io) {
+                        throw io;
+                    }
+                    if (e.getCause() instanceof final InterruptedException interrupted) {
+                        throw interrupted;
+                    }
+                    throw new IOException(e.getCause());
+                }
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean buildPDF(final PDFJob job) throws IOException, InterruptedException {
+        final File jobDirectory = job.jobDirectory();
+        if (!jobDirectory.exists()) {
+            jobDirectory.mkdirs();
+        }
+        final String texFile = job.fileName() + ".tex";
+        int steps = 0;
+        String before = PDFBuildScheduler.hashAuxiliaryFiles(job);
+        PDFBuildScheduler.runPDFLaTeX(texFile, job);
+        steps++;
+        this.step();
+        String after = PDFBuildScheduler.hashAuxiliaryFiles(job);
+        final File biberInputsFile =
+            jobDirectory.toPath().resolve(job.fileName() + PDFBuildScheduler.BIBER_INPUTS).toFile();
+        final String biberInputs = PDFBuildScheduler.hashBiberInputs(job);
+        final boolean runBiber = !PDFBuildScheduler.isBiberUpToDate(job, biberInputs);
+        if (runBiber) {
+            final Process biberProcess =
+                ExternalProcess.run(
+                    Main.buildBiberProcess(job.fileName(), job.directory(), jobDirectory),
+                    60,
+                    TimeUnit.SECONDS
+                );
+            if (!biberProcess.isAlive() && biberProcess.exitValue() == 0) {
+                Files.writeString(biberInputsFile.toPath(), biberInputs);
+            } else {
+                biberInputsFile.delete();
+            }
+            steps++;
+            this.step();
+        }
+        boolean converged = !runBiber && before.equals(after);
+        for (int i = 0; i < PDFBuildScheduler.MAX_RERUNS && !converged; i++) {
+            before = after;
+            PDFBuildScheduler.runPDFLaTeX(texFile, job);
+            steps++;
+            this.step();
+            after = PDFBuildScheduler.hashAuxiliaryFiles(job);
+            converged = before.equals(after);
+        }
+        for (; steps < PDFBuildScheduler.STEPS_PER_JOB; steps++) {
+            this.step();
+        }
+        final Path pdf = jobDirectory.toPath().resolve(job.fileName() + ".pdf");
+        if (!pdf.toFile().exists()) {
+            return false;
+        }
+        Files.move(pdf, job.directory().toPath().resolve(job.fileName() + ".pdf"), StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    private synchronized void step() {
+        this.current++;
+        this.progressListener.accept(this.current * 100 / this.total);
+    }
+
+}
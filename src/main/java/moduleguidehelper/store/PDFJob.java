@@ -0,0 +1,7 @@
+package moduleguidehelper.store;
+
+import java.io.*;
+
+public record PDFJob(String fileName, File directory, File jobDirectory) {
+
+}
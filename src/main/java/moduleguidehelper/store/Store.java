@@ -10,6 +10,7 @@ import com.google.gson.*;
 import com.google.gson.stream.*;
 
 import moduleguidehelper.*;
+import moduleguidehelper.events.*;
 import moduleguidehelper.io.*;
 import moduleguidehelper.model.*;
 
@@ -17,30 +18,8 @@ public class Store {
 
     public static final Store INSTANCE = new Store();
 
-    private static int buildPDF(
-        final int initial,
-        final int total,
-        final String fileName,
-        final String texFile,
-        final File directory,
-        final Consumer<Integer> progressListener
-    ) throws IOException, InterruptedException {
-        int current = initial;
-        Process pdfProcess = Main.buildAndStartPDFLaTeXProcess(texFile, directory);
-        pdfProcess.waitFor(60, TimeUnit.SECONDS);
-        current++;
-        progressListener.accept(current * 100 / total);
-        final Process biberProcess = Main.buildAndStartBiberProcess(fileName, directory);
-        biberProcess.waitFor(60, TimeUnit.SECONDS);
-        current++;
-        progressListener.accept(current * 100 / total);
-        for (int i = 0; i < 3; i++) {
-            pdfProcess = Main.buildAndStartPDFLaTeXProcess(texFile, directory);
-            pdfProcess.waitFor(60, TimeUnit.SECONDS);
-            current++;
-            progressListener.accept(current * 100 / total);
-        }
-        return current;
+    private static File toPDFFile(final PDFJob job) {
+        return job.directory().toPath().resolve(job.fileName() + ".pdf").toFile();
     }
 
     private final List<FileSelectionObserver> fileObservers;
@@ -49,63 +28,110 @@ public class Store {
 
     private Set<File> modules;
 
+    private volatile boolean parallelRendering;
+
+    private volatile int workers;
+
     private Store() {
         this.guides = new LinkedHashSet<File>();
         this.modules = new LinkedHashSet<File>();
         this.fileObservers = new LinkedList<FileSelectionObserver>();
+        this.workers = Runtime.getRuntime().availableProcessors();
+        this.parallelRendering = true;
     }
 
     public void generatePDFs(final File directory, final Consumer<Integer> progressListener) throws Exception {
+        final long start = Metrics.start();
         final String texSuffix = ".tex";
-        final File modules = directory.toPath().resolve("modules").toFile();
+        final ModuleRepository modules = ModuleRepository.open(directory.toPath().resolve("modules").toFile());
         final File singlePDFsDirectory = directory.toPath().resolve(Main.SINGLE_PDFS).toFile();
-        final Set<File> files = this.getAllSelectedFiles();
-        final int total = 5 * files.size();
-        int current = 0;
+        final File jobsDirectory = Main.getCacheDirectory(directory).toPath().resolve("jobs").toFile();
+        final BuildManifest manifest = BuildManifest.load(directory);
+        final BuildInputs inputs = new BuildInputs(modules, directory.toPath().resolve("literature.bib").toFile());
+        final Map<PDFJob, String> jobs = new LinkedHashMap<PDFJob, String>();
         progressListener.accept(0);
         for (final File guide : this.guides) {
             final String fileName = guide.getName().substring(0, guide.getName().length() - 5);
-            final String texFile = fileName + texSuffix;
-            Main.compileModuleGuide(guide, modules, directory.toPath().resolve(texFile).toFile());
-            current = Store.buildPDF(current, total, fileName, texFile, directory, progressListener);
+            final File texFile = directory.toPath().resolve(fileName + texSuffix).toFile();
+            final String fingerprint = inputs.forGuide(guide);
+            if (!manifest.isUpToDate(texFile, fingerprint)) {
+                Main.compileModuleGuide(guide, modules, texFile, this.parallelRendering);
+                manifest.update(texFile, fingerprint);
+            }
+            final PDFJob job =
+                new PDFJob(fileName, directory, jobsDirectory.toPath().resolve("guides").resolve(fileName).toFile());
+            if (!manifest.isUpToDate(Store.toPDFFile(job), fingerprint)) {
+                jobs.put(job, fingerprint);
+            }
         }
         for (final File module : this.modules) {
             if ("schema.json".equals(module.getName())) {
                 continue;
             }
             final String fileName = module.getName().substring(0, module.getName().length() - 5);
-            final String texFile = fileName + texSuffix;
-            final RawModule raw;
-            try (FileReader moduleReader = new FileReader(module)) {
-                raw = Main.GSON.fromJson(moduleReader, RawModule.class);
-            } catch (final MalformedJsonException | JsonSyntaxException e) {
-                Main.LOGGER.log(Level.SEVERE, module.getAbsolutePath());
-                throw new IOException(String.format("%s: %s", module.getAbsolutePath(), e.getMessage()), e);
+            final File moduleTeXFile = singlePDFsDirectory.toPath().resolve(fileName + texSuffix).toFile();
+            final String fingerprint = inputs.forModule(fileName);
+            if (!manifest.isUpToDate(moduleTeXFile, fingerprint)) {
+                Main.compileSingleModule(fileName, Optional.empty(), modules, moduleTeXFile);
+                manifest.update(moduleTeXFile, fingerprint);
             }
-            final File moduleTeXFile = singlePDFsDirectory.toPath().resolve(texFile).toFile();
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(moduleTeXFile))) {
-                ModuleGuideLaTeXWriter.writeModule(fileName.toUpperCase(), raw, Optional.empty(), 180, modules, writer);
+            final PDFJob job =
+                new PDFJob(
+                    fileName,
+                    singlePDFsDirectory,
+                    jobsDirectory.toPath().resolve("modules").resolve(fileName).toFile()
+                );
+            if (!manifest.isUpToDate(Store.toPDFFile(job), fingerprint)) {
+                jobs.put(job, fingerprint);
             }
-            current = Store.buildPDF(current, total, fileName, texFile, singlePDFsDirectory, progressListener);
         }
-        Process process = new ProcessBuilder(
-            "git",
-            "add",
-            "-A"
-        ).inheritIO().directory(directory).start();
-        process.waitFor(60, TimeUnit.SECONDS);
-        process = new ProcessBuilder(
-            "git",
-            "commit",
-            "-m",
-            "update"
-        ).inheritIO().directory(directory).start();
-        process.waitFor(60, TimeUnit.SECONDS);
-        process = new ProcessBuilder(
-            "git",
-            "push"
-        ).inheritIO().directory(directory).start();
-        process.waitFor(60, TimeUnit.SECONDS);
+        manifest.save();
+        modules.saveSnapshot();
+        final long buildStart = Metrics.start();
+        for (final PDFJob job : new PDFBuildScheduler(this.workers, progressListener).build(List.copyOf(jobs.keySet()))) {
+            manifest.update(Store.toPDFFile(job), jobs.get(job));
+        }
+        Metrics.stop(Metrics.Phase.PDF, buildStart);
+        manifest.save();
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "add",
+                "-A"
+            ).inheritIO().directory(directory),
+            60,
+            TimeUnit.SECONDS
+        );
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "commit",
+                "-m",
+                "update"
+            ).inheritIO().directory(directory),
+            60,
+            TimeUnit.SECONDS
+        );
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "push"
+            ).inheritIO().directory(directory),
+            60,
+            TimeUnit.SECONDS
+        );
+        Metrics.stop(Metrics.Phase.TOTAL, start);
+        if (Metrics.isEnabled()) {
+            Main.LOGGER.log(Level.INFO, Metrics.summary());
+        }
+    }
+
+    public int getWorkers() {
+        return this.workers;
+    }
+
+    public boolean isParallelRendering() {
+        return this.parallelRendering;
     }
 
     public void registerFileObserver(final FileSelectionObserver observer) {
@@ -133,6 +159,14 @@ public class Store {
         }
     }
 
+    public void setParallelRendering(final boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+    }
+
+    public void setWorkers(final int workers) {
+        this.workers = workers;
+    }
+
     public void syncgit(
         final File directory,
         final Consumer<Integer> progressListener
@@ -141,36 +175,48 @@ public class Store {
         final File resetFile = directory.toPath().resolve("reset.log").toFile();
         final File cleanFile = directory.toPath().resolve("clean.log").toFile();
         final File pullFile = directory.toPath().resolve("pull.log").toFile();
-        Process process = new ProcessBuilder(
-            "git",
-            "config",
-            "protectNTFS",
-            "false"
-        ).inheritIO().directory(directory).start();
-        process.waitFor(60, TimeUnit.SECONDS);
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "config",
+                "protectNTFS",
+                "false"
+            ).inheritIO().directory(directory),
+            60,
+            TimeUnit.SECONDS
+        );
         progressListener.accept(25);
-        process = new ProcessBuilder(
-            "git",
-            "reset",
-            "--hard"
-        ).inheritIO().directory(directory).redirectOutput(resetFile).redirectError(resetFile).start();
-        process.waitFor(60, TimeUnit.SECONDS);
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "reset",
+                "--hard"
+            ).inheritIO().directory(directory).redirectOutput(resetFile).redirectError(resetFile),
+            60,
+            TimeUnit.SECONDS
+        );
         progressListener.accept(50);
-        process = new ProcessBuilder(
-            "git",
-            "clean",
-            "-f",
-            "-d"
-        ).inheritIO().directory(directory).redirectOutput(cleanFile).redirectError(cleanFile).start();
-        process.waitFor(60, TimeUnit.SECONDS);
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "clean",
+                "-f",
+                "-d"
+            ).inheritIO().directory(directory).redirectOutput(cleanFile).redirectError(cleanFile),
+            60,
+            TimeUnit.SECONDS
+        );
         progressListener.accept(75);
-        process = new ProcessBuilder(
-            "git",
-            "pull",
-            "--rebase",
-            "-X ours"
-        ).inheritIO().directory(directory).redirectOutput(pullFile).redirectError(pullFile).start();
-        process.waitFor(60, TimeUnit.SECONDS);
+        ExternalProcess.run(
+            new ProcessBuilder(
+                "git",
+                "pull",
+                "--rebase",
+                "-X ours"
+            ).inheritIO().directory(directory).redirectOutput(pullFile).redirectError(pullFile),
+            60,
+            TimeUnit.SECONDS
+        );
         progressListener.accept(100);
         try (BufferedReader reader = new BufferedReader(new FileReader(resetFile))) {
             final String line = reader.readLine();
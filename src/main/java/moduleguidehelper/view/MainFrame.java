@@ -11,6 +11,8 @@ import moduleguidehelper.store.*;
 
 public class MainFrame extends JFrame {
 
+    private static final int MAX_WORKERS = 64;
+
     private static final long serialVersionUID = 1L;
 
     private boolean fileSelected;
@@ -91,6 +93,27 @@ public class MainFrame extends JFrame {
         });
         constraints.gridy = 1;
         buttons.add(generateButton, constraints);
+        final JPanel workersPanel = new JPanel();
+        workersPanel.add(new JLabel("Parallele Builds:"));
+        final JSpinner workersSpinner =
+            new JSpinner(
+                new SpinnerNumberModel(
+                    Store.INSTANCE.getWorkers(),
+                    1,
+                    Math.max(Store.INSTANCE.getWorkers(), MainFrame.MAX_WORKERS),
+                    1
+                )
+            );
+        workersSpinner.addChangeListener(event -> Store.INSTANCE.setWorkers((Integer) workersSpinner.getValue()));
+        workersPanel.add(workersSpinner);
+        final JCheckBox parallelRenderingBox =
+            new JCheckBox("Module parallel rendern", Store.INSTANCE.isParallelRendering());
+        parallelRenderingBox.addItemListener(
+            event -> Store.INSTANCE.setParallelRendering(parallelRenderingBox.isSelected())
+        );
+        workersPanel.add(parallelRenderingBox);
+        constraints.gridy = 2;
+        buttons.add(workersPanel, constraints);
         constraints.gridy = 0;
         constraints.ipadx = 10;
         constraints.ipady = 10;
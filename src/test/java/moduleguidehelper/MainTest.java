@@ -0,0 +1,119 @@
+package moduleguidehelper;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import com.google.gson.*;
+
+import moduleguidehelper.io.*;
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.Module;
+
+public class MainTest {
+
+    private File root;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        this.root = TestRoot.create(40);
+    }
+
+    @AfterMethod
+    public void deleteRoot() throws IOException {
+        TestRoot.delete(this.root);
+    }
+
+    @Test
+    public void compileModuleGuidesTest() throws IOException {
+        final Path path = this.root.toPath();
+        Files.writeString(path.resolve("a.json"), TestRoot.guide(6, List.of()));
+        Files.writeString(path.resolve("b.json"), "{\"subject\": \"Informatik\", \"modules\": [");
+        Files.writeString(path.resolve("modules").resolve("broken.json"), "{\"title\": ");
+        Files.writeString(path.resolve("c.json"), TestRoot.guide(6, List.of("BROKEN")));
+        Files.writeString(path.resolve("d.json"), TestRoot.guide(8, List.of()));
+        Assert.assertEquals(Main.compileModuleGuides(this.root, true), 2);
+        Assert.assertTrue(path.resolve("a.tex").toFile().exists());
+        Assert.assertFalse(path.resolve("b.tex").toFile().exists());
+        Assert.assertFalse(path.resolve("c.tex").toFile().exists());
+        Assert.assertTrue(path.resolve("d.tex").toFile().exists());
+        final File single = Files.createTempFile("guide", ".tex").toFile();
+        try {
+            Main.compileModuleGuide(
+                path.resolve("d.json").toFile(),
+                new ModuleRepository(path.resolve("modules").toFile()),
+                single,
+                false
+            );
+            Assert.assertEquals(Files.readString(path.resolve("d.tex")), Files.readString(single.toPath()));
+        } finally {
+            single.delete();
+        }
+    }
+
+    @Test
+    public void parseModuleGuideMissingModuleTest() throws IOException {
+        final File guide = this.root.toPath().resolve("guide.json").toFile();
+        Files.writeString(guide.toPath(), TestRoot.guide(3, List.of("X01", "X02")));
+        final List<LogRecord> records = Collections.synchronizedList(new ArrayList<LogRecord>());
+        final Handler handler = new Handler() {
+
+            @Override
+            public void close() {}
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void publish(final LogRecord record) {
+                records.add(record);
+            }
+
+        };
+        Main.LOGGER.addHandler(handler);
+        final ModuleGuide result;
+        try {
+            result = Main.parseModuleGuide(guide, new ModuleRepository(this.root.toPath().resolve("modules").toFile()));
+        } finally {
+            Main.LOGGER.removeHandler(handler);
+        }
+        Assert.assertEquals(
+            result.modules().stream().map(module -> module.meta().module()).toList(),
+            List.of("M00", "M01", "M02")
+        );
+        Assert.assertEquals(
+            records.stream().filter(record -> record.getLevel() == Level.SEVERE).map(LogRecord::getMessage).toList(),
+            List.of("X01 is missing!", "X02 is missing!")
+        );
+    }
+
+    @Test
+    public void parseModuleGuideOrderTest() throws IOException {
+        final JsonObject json = JsonParser.parseString(TestRoot.guide(40, List.of())).getAsJsonObject();
+        final List<JsonElement> metas = new ArrayList<JsonElement>(json.getAsJsonArray("modules").asList());
+        Collections.shuffle(metas, new Random(42));
+        final JsonArray shuffled = new JsonArray();
+        metas.forEach(shuffled::add);
+        json.add("modules", shuffled);
+        final File guide = this.root.toPath().resolve("guide.json").toFile();
+        Files.writeString(guide.toPath(), json.toString());
+        final ModuleGuide result =
+            Main.parseModuleGuide(guide, new ModuleRepository(this.root.toPath().resolve("modules").toFile()));
+        Assert.assertEquals(
+            result.modules().stream().map(Module::meta).map(MetaModule::module).toList(),
+            metas.stream().map(meta -> meta.getAsJsonObject().get("module").getAsString()).toList()
+        );
+        Assert.assertEquals(
+            result.modules().stream().map(Module::module).map(RawModule::title).toList(),
+            metas.stream()
+            .map(meta -> meta.getAsJsonObject().get("module").getAsString().substring(1))
+            .map(number -> String.format("Modul %d & Co $$\\llb{}$$", Integer.parseInt(number)))
+            .toList()
+        );
+    }
+
+}
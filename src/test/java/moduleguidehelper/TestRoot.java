@@ -0,0 +1,134 @@
+package moduleguidehelper;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+public class TestRoot {
+
+    public static final String SPECIALIZATION = "Data Science";
+
+    public static File create(final int modules, final String... guides) throws IOException {
+        final File root = Files.createTempDirectory("root").toFile();
+        final Path modulesFolder = root.toPath().resolve("modules");
+        Files.createDirectories(modulesFolder);
+        for (int i = 0; i < modules; i++) {
+            Files.writeString(modulesFolder.resolve(TestRoot.moduleID(i).toLowerCase() + ".json"), TestRoot.module(i));
+        }
+        for (final String guide : guides) {
+            Files.writeString(root.toPath().resolve(guide), TestRoot.guide(modules, List.of()));
+        }
+        Files.writeString(
+            root.toPath().resolve("literature.bib"),
+            "@book{Key1,\n  author = {Doe, Jane},\n  title = {Title},\n  year = 2020\n}\n"
+        );
+        return root;
+    }
+
+    public static void delete(final File root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root.toPath())) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public static String guide(final int modules, final List<String> additionalModules) {
+        final List<String> metas = new ArrayList<String>();
+        for (int i = 0; i < modules; i++) {
+            if (i < modules - 2) {
+                metas.add(TestRoot.meta(TestRoot.moduleID(i), 1 + i / 4, i % 4, null));
+            } else {
+                metas.add(TestRoot.meta(TestRoot.moduleID(i), 5, null, TestRoot.SPECIALIZATION));
+            }
+        }
+        for (final String module : additionalModules) {
+            metas.add(TestRoot.meta(module, 1, 0, null));
+        }
+        return String.format(
+            """
+            {
+                "subject": "Informatik",
+                "degree": "Bachelor of Science",
+                "mode": "DUAL",
+                "semestertype": "SEMESTER",
+                "year": "2025",
+                "startquarter": 4,
+                "workphaseswitch": 1,
+                "generallanguage": "GERMAN",
+                "pagebreaks": [],
+                "pagebreaksspecialization": [],
+                "signature": "GREGOR",
+                "specializationorder": ["%s"],
+                "modules": [%s]
+            }
+            """,
+            TestRoot.SPECIALIZATION,
+            String.join(",", metas)
+        );
+    }
+
+    public static String moduleID(final int index) {
+        return String.format("M%02d", index);
+    }
+
+    private static String meta(
+        final String module,
+        final int semester,
+        final Integer position,
+        final String specialization
+    ) {
+        return String.format(
+            """
+            {
+                "module": "%s",
+                "semester": %d,
+                %s
+                "type": "%s",
+                "frequency": "jedes Jahr",
+                "weight": 5,
+                "duration": 1
+            }
+            """,
+            module,
+            semester,
+            specialization == null ?
+                String.format("\"sempos\": %d,", position) :
+                    String.format("\"specialization\": \"%s\", \"specializationnumber\": 1,", specialization),
+            specialization == null ? "Pflicht" : Main.ELECTIVE
+        );
+    }
+
+    private static String module(final int index) {
+        return String.format(
+            """
+            {
+                "title": "Modul %d & Co $$\\\\llb{}$$",
+                "responsible": "Prof. X",
+                "teachers": ["A", "B"],
+                "teachinglanguage": "GERMAN",
+                "descriptionlanguage": "%s",
+                "ects": 5,
+                "contacthours": 60,
+                "homehours": 90,
+                "examination": "Klausur",
+                "keywords": ["k%d", "50%%"],
+                "preconditions": [%s],
+                "recommendations": ["!Freitext"],
+                "competencies": ["Kompetenz ~ %d"],
+                "teachingmethods": ["Vorlesung"],
+                "content": [{"chapter": "Kapitel", "sections": ["a", "b"]}, {"chapter": "!Hinweis"}],
+                "requiredliterature": ["Key1", "!Skript"],
+                "optionalliterature": []
+            }
+            """,
+            index,
+            index % 3 == 2 ? "ENGLISH" : "GERMAN",
+            index,
+            index == 0 ? "" : String.format("\"%s\"", TestRoot.moduleID(index - 1)),
+            index
+        );
+    }
+
+}
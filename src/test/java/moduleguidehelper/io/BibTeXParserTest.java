@@ -2,6 +2,8 @@ package moduleguidehelper.io;
 
 import java.io.*;
 import java.math.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 import java.util.*;
 
 import org.testng.*;
@@ -11,6 +13,22 @@ import moduleguidehelper.model.bibtex.*;
 
 public class BibTeXParserTest {
 
+    private static final char[] SHRINK_SPACE_ALPHABET = {' ', '\t', '\n', '\r', '\f', '\u000B', '\u00A0', 'a', '{'};
+
+    private static BibTeXNumber parseNumberWithRegex(final String text) {
+        return text.matches("[1-9]\\d*") ? new BibTeXNumber(new BigInteger(text)) : null;
+    }
+
+    private static String shrinkSpaceWithRegex(final String text) {
+        String result = text;
+        String reduced = result.replaceAll("\\s\\s", " ");
+        while (!result.equals(reduced)) {
+            result = reduced;
+            reduced = result.replaceAll("\\s\\s", " ");
+        }
+        return result;
+    }
+
     @DataProvider
     public Object[][] parseData() {
         return new Object[][] {
@@ -75,6 +93,16 @@ public class BibTeXParserTest {
                 new BibTeXDatabase(
                     List.of(new BibTeXEntry("misc", "test", Map.of("number", new BibTeXText("007"))))
                 )
+            },
+            {
+                "some text\n@comment{foo}\ntrailing text",
+                new BibTeXDatabase(
+                    List.of(
+                        new BibTeXFreeComment("some text\n"),
+                        new BibTeXComment("foo"),
+                        new BibTeXFreeComment("\ntrailing text")
+                    )
+                )
             }
         };
     }
@@ -99,9 +127,194 @@ public class BibTeXParserTest {
         Assert.assertThrows(IOException.class, () -> BibTeXParser.parse(new StringReader(fileText)));
     }
 
+    @Test(dataProvider="parseData")
+    public void parseFileTest(final String fileText, final BibTeXDatabase expected) throws IOException {
+        final File file = File.createTempFile("literature", ".bib");
+        try {
+            Files.writeString(file.toPath(), fileText, StandardCharsets.UTF_8);
+            Assert.assertEquals(BibTeXParser.parse(file), expected);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @DataProvider
+    public Object[][] parseNumberData() {
+        return new Object[][] {
+            {""},
+            {"0"},
+            {"00"},
+            {"01"},
+            {"007"},
+            {"+1"},
+            {"-1"},
+            {"1"},
+            {"2014"},
+            {"1a"},
+            {"a1"},
+            {" 1"},
+            {"1 "},
+            {"1.5"},
+            {"1\u0661"},
+            {"\u0661"},
+            {"999999999999999999"},
+            {"100000000000000000"},
+            {"1000000000000000000"},
+            {"9223372036854775807"},
+            {"9223372036854775808"},
+            {"18446744073709551616"},
+            {"99999999999999999999999"},
+            {"0999999999999999999999"},
+            {"9999999999999999999x"}
+        };
+    }
+
+    @Test(dataProvider="parseNumberData")
+    public void parseNumberTest(final String text) {
+        final BibTeXNumber expected = BibTeXParserTest.parseNumberWithRegex(text);
+        final BibTeXNumber number = BibTeXParser.parseNumber(text);
+        Assert.assertEquals(number, expected);
+        if (expected != null) {
+            Assert.assertEquals(number.number(), expected.number());
+            Assert.assertEquals(number.toFormatString(true), "{" + text + "}");
+            Assert.assertEquals(number.large() == null, number.number().bitLength() < Long.SIZE);
+        }
+    }
+
+    @DataProvider
+    public Object[][] parseParallelBatchData() {
+        final List<String> inputs = new ArrayList<String>();
+        for (final Object[] row : this.parseData()) {
+            inputs.add((String)row[0]);
+        }
+        inputs.add(
+            "% leading comment\n@string{pub = {Verlag}}\n\nbetween one\n@comment{ignored @book{x}}\n"
+            + "@preamble{\\newcommand{\\foo}{}}\nbetween two\n\n"
+            + "@book{Key1,\n  title = {One},\n  publisher = pub # { Berlin}\n}\n"
+            + "inside\n@article{Key2, title = \"Two\", year = 2014}\n  \n"
+            + "@book(Key3, title = {Three {nested}})trailing comment\n"
+        );
+        final StringBuilder large = new StringBuilder("% generated\n");
+        for (int i = 0; i < 40; i++) {
+            if (i % 3 == 0) {
+                large.append(String.format("free comment %d\n", i));
+            }
+            switch (i % 4) {
+            case 0:
+                large.append(String.format("@string{s%d = {String %d}}\n", i, i));
+                break;
+            case 1:
+                large.append(String.format("@comment{comment %d}\n", i));
+                break;
+            case 2:
+                large.append(String.format("@preamble{\\def\\x%s{%d}}\n", (char)('a' + i % 26), i));
+                break;
+            default:
+                large.append(String.format("@book{Key%d,\n  title = {Title %d},\n  year = %d\n}\n\n", i, i, 1970 + i));
+            }
+        }
+        large.append("end of file");
+        inputs.add(large.toString());
+        final List<Object[]> result = new ArrayList<Object[]>();
+        for (final String input : inputs) {
+            for (final int budget : new int[] {1, 7, 64}) {
+                result.add(new Object[] {input, budget});
+            }
+        }
+        return result.toArray(Object[][]::new);
+    }
+
+    @Test(dataProvider="parseParallelBatchData")
+    public void parseParallelBatchTest(final String fileText, final int budget) throws IOException {
+        final BibTeXDatabase expected = BibTeXParser.parse(new StringReader(fileText));
+        Assert.assertEquals(
+            BibTeXParser.parseParallel(new BibTeXStreamParser(new StringReader(fileText)), budget),
+            expected
+        );
+        final BibTeXStreamParser parser = new BibTeXStreamParser(new StringReader(fileText));
+        final BibTeXObject first = parser.next();
+        final BibTeXDatabase result = new BibTeXDatabase();
+        if (first != null) {
+            result.add(first);
+            result.addAll(BibTeXParser.parseParallel(parser, budget));
+        }
+        Assert.assertEquals(result, expected);
+    }
+
+    @Test(dataProvider="parseExceptionData")
+    public void parseParallelExceptionTest(final String fileText) {
+        for (final int budget : new int[] {1, 7, 64}) {
+            Assert.assertThrows(
+                IOException.class,
+                () -> BibTeXParser.parseParallel(new BibTeXStreamParser(new StringReader(fileText)), budget)
+            );
+        }
+    }
+
+    @Test(dataProvider="parseData")
+    public void parseParallelTest(final String fileText, final BibTeXDatabase expected) throws IOException {
+        Assert.assertEquals(BibTeXParser.parseParallel(new BibTeXStreamParser(new StringReader(fileText))), expected);
+    }
+
     @Test(dataProvider="parseData")
     public void parseTest(final String fileText, final BibTeXDatabase expected) throws IOException {
         Assert.assertEquals(BibTeXParser.parse(new StringReader(fileText)), expected);
     }
 
+    @DataProvider
+    public Object[][] shrinkSpaceData() {
+        final List<Object[]> result = new ArrayList<Object[]>();
+        for (final String text : new String[] {
+            "",
+            " ",
+            "  ",
+            "   ",
+            "\t",
+            "a\tb",
+            "a \t\nb",
+            "a\t b",
+            "a\r\n\r\nb",
+            "a\n    b\n  c",
+            " a  ",
+            "\u000B\f",
+            "a\u00A0 b",
+            "a\u00A0\u00A0b",
+            "a\u2003\u2003b"
+        }) {
+            result.add(new Object[] {text});
+        }
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final StringBuilder text = new StringBuilder();
+            for (int j = random.nextInt(20); j > 0; j--) {
+                final int index = random.nextInt(BibTeXParserTest.SHRINK_SPACE_ALPHABET.length);
+                text.append(BibTeXParserTest.SHRINK_SPACE_ALPHABET[index]);
+            }
+            result.add(new Object[] {text.toString()});
+        }
+        return result.toArray(Object[][]::new);
+    }
+
+    @Test(dataProvider="shrinkSpaceData")
+    public void shrinkSpaceTest(final String text) {
+        Assert.assertEquals(BibTeXParser.shrinkSpace(text), BibTeXParserTest.shrinkSpaceWithRegex(text));
+    }
+
+    @Test(dataProvider="parseData")
+    public void streamTest(final String fileText, final BibTeXDatabase expected) throws IOException {
+        final Reader singleCharacters = new FilterReader(new StringReader(fileText)) {
+            @Override
+            public int read(final char[] buffer, final int offset, final int length) throws IOException {
+                return super.read(buffer, offset, Math.min(1, length));
+            }
+        };
+        final BibTeXDatabase result = new BibTeXDatabase();
+        try (BibTeXStreamParser parser = new BibTeXStreamParser(singleCharacters)) {
+            for (BibTeXObject object = parser.next(); object != null; object = parser.next()) {
+                result.add(object);
+            }
+        }
+        Assert.assertEquals(result, expected);
+    }
+
 }
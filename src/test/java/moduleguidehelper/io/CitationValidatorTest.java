@@ -0,0 +1,177 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class CitationValidatorTest {
+
+    private File root;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        this.root = TestRoot.create(3);
+        Files.writeString(
+            this.root.toPath().resolve("literature.bib"),
+            "@book{Key1,\n  title = {One}\n}\n\n@book{Key2,\n  title = {Two}\n}\n\n"
+            + "@book{Unused,\n  title = {Three}\n}\n"
+        );
+    }
+
+    @AfterMethod
+    public void deleteRoot() throws IOException {
+        TestRoot.delete(this.root);
+    }
+
+    @Test
+    public void caseMismatchTest() throws IOException {
+        Files.writeString(
+            this.root.toPath().resolve("literature.bib"),
+            "@book{Key1,\n  title = {One}\n}\n\n@book{Knuth84,\n  title = {TeX}\n}\n"
+        );
+        final Path module = this.root.toPath().resolve("modules").resolve("m02.json");
+        Files.writeString(
+            module,
+            Files.readString(module).replace("\"optionalliterature\": []", "\"optionalliterature\": [\"knuth84\"]")
+        );
+        final CitationReport report = CitationValidator.validate(this.root, Optional.empty());
+        Assert.assertEquals(
+            report.unknownKeys(),
+            new TreeMap<String, List<String>>(Map.of(module.toFile().getPath(), List.of("knuth84")))
+        );
+        Assert.assertEquals(report.unusedKeys(), new TreeSet<String>(Set.of("Knuth84")));
+        Assert.assertEquals(report.exitStatus(), 1);
+    }
+
+    @Test
+    public void emptyModuleTest() throws IOException {
+        final Path empty = this.root.toPath().resolve("modules").resolve("m03.json");
+        Files.writeString(empty, "");
+        final CitationReport report = CitationValidator.validate(this.root, Optional.empty());
+        Assert.assertEquals(report.emptyModules(), new TreeSet<String>(Set.of(empty.toFile().getPath())));
+        Assert.assertTrue(report.unknownKeys().isEmpty());
+        Assert.assertEquals(report.exitStatus(), 1);
+        Assert.assertTrue(report.describe().contains("Empty module file " + empty.toFile().getPath()));
+    }
+
+    @Test
+    public void equivalenceCheckFilterTest() throws IOException {
+        final Path first = this.writeEquivalenceCheck("first/check", "Ours", "Theirs");
+        this.writeEquivalenceCheck("second/check", "Other", "Key2");
+        final CitationReport report = CitationValidator.validate(this.root, Optional.of(first.toFile()));
+        Assert.assertEquals(
+            report.unknownKeys(),
+            new TreeMap<String, List<String>>(
+                Map.of(
+                    String.format("%s (M00)", first.toFile().getPath()),
+                    List.of("Ours"),
+                    String.format("%s (F1)", first.resolveSibling("theirmodules.json").toFile().getPath()),
+                    List.of("Theirs")
+                )
+            )
+        );
+        Assert.assertEquals(report.unusedKeys(), new TreeSet<String>(Set.of("Key2", "Unused")));
+        Assert.assertEquals(report.citations(), 6);
+        Assert.assertEquals(report.exitStatus(), 1);
+    }
+
+    @Test
+    public void equivalenceCheckTest() throws IOException {
+        final Path first = this.writeEquivalenceCheck("first/check", "Key2", "Theirs");
+        final Path second = this.writeEquivalenceCheck("nested/second/check", "Other", "Unused");
+        final CitationReport report = CitationValidator.validate(this.root, Optional.empty());
+        Assert.assertEquals(
+            report.unknownKeys(),
+            new TreeMap<String, List<String>>(
+                Map.of(
+                    String.format("%s (F1)", first.resolveSibling("theirmodules.json").toFile().getPath()),
+                    List.of("Theirs"),
+                    String.format("%s (M00)", second.toFile().getPath()),
+                    List.of("Other")
+                )
+            )
+        );
+        Assert.assertTrue(report.unusedKeys().isEmpty());
+        Assert.assertEquals(report.citations(), 9);
+        Assert.assertEquals(report.exitStatus(), 1);
+    }
+
+    @Test
+    public void noEquivalenceCheckTest() throws IOException {
+        final Path guide = this.root.toPath().resolve("guide.json");
+        Files.writeString(guide, TestRoot.guide(3, List.of()));
+        Assert.assertEquals(CitationValidator.validate(this.root, Optional.empty()).citations(), 3);
+        Assert.assertThrows(
+            IOException.class,
+            () -> CitationValidator.validate(this.root, Optional.of(guide.toFile()))
+        );
+    }
+
+    @Test
+    public void unknownKeysTest() throws IOException {
+        final Path module = this.root.toPath().resolve("modules").resolve("m01.json");
+        Files.writeString(
+            module,
+            Files.readString(module)
+            .replace("[\"Key1\", \"!Skript\"]", "[\"key1\", \"Missing\"]")
+            .replace("\"optionalliterature\": []", "\"optionalliterature\": [\"!Missing too\", \"Key2\"]")
+        );
+        final CitationReport report = CitationValidator.validate(this.root, Optional.empty());
+        Assert.assertEquals(
+            report.unknownKeys(),
+            new TreeMap<String, List<String>>(Map.of(module.toFile().getPath(), List.of("key1", "Missing")))
+        );
+        Assert.assertEquals(report.unusedKeys(), new TreeSet<String>(Set.of("Unused")));
+        Assert.assertEquals(report.citations(), 5);
+        Assert.assertTrue(report.emptyModules().isEmpty());
+        Assert.assertEquals(report.exitStatus(), 1);
+        Assert.assertTrue(
+            report.describe().startsWith(String.format("Unknown keys in %s: key1, Missing\n", module.toFile()))
+        );
+    }
+
+    @Test
+    public void validTest() throws IOException {
+        final Path module = this.root.toPath().resolve("modules").resolve("m02.json");
+        Files.writeString(
+            module,
+            Files.readString(module)
+            .replace("\"optionalliterature\": []", "\"optionalliterature\": [\"Key2\", \"Unused\"]")
+        );
+        final CitationReport report = CitationValidator.validate(this.root, Optional.empty());
+        Assert.assertTrue(report.unknownKeys().isEmpty());
+        Assert.assertTrue(report.unusedKeys().isEmpty());
+        Assert.assertEquals(report.citations(), 5);
+        Assert.assertEquals(report.exitStatus(), 0);
+    }
+
+    private Path writeEquivalenceCheck(final String name, final String ourSource, final String theirSource)
+    throws IOException {
+        final Path check = this.root.toPath().resolve("equivalence").resolve(name + ".json");
+        Files.createDirectories(check.getParent());
+        Files.writeString(
+            check,
+            String.format(
+                """
+                {
+                    "ourmodules": [{"module": "M00", "sources": [{"source": "%s", "pages": "1"}, {"source": "Key1"}]}],
+                    "theirmodules": "theirmodules.json"
+                }
+                """,
+                ourSource
+            )
+        );
+        Files.writeString(
+            check.resolveSibling("theirmodules.json"),
+            String.format("[{\"id\": \"F1\", \"sources\": [{\"source\": \"%s\"}]}]", theirSource)
+        );
+        return check;
+    }
+
+}
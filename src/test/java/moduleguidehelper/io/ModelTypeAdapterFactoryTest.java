@@ -0,0 +1,125 @@
+package moduleguidehelper.io;
+
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import com.google.gson.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+import moduleguidehelper.model.equivalence.*;
+
+public class ModelTypeAdapterFactoryTest {
+
+    private static final Gson REFLECTIVE = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private static Object fromJson(final Gson gson, final String json, final Class<?> type) {
+        try {
+            return gson.fromJson(json, type);
+        } catch (final JsonParseException e) {
+            return e;
+        }
+    }
+
+    @DataProvider
+    public Object[][] roundTripData() {
+        return new Object[][] {
+            {Chapter.class, "{\"chapter\": \"Kapitel\", \"sections\": [\"a\", \"b\"]}"},
+            {Chapter.class, "{\"sections\": [\"a\"], \"chapter\": \"Kapitel\"}"},
+            {Chapter.class, "{\"chapter\": \"Kapitel\", \"unknown\": {\"a\": [1, {\"b\": null}]}, \"sections\": null}"},
+            {Chapter.class, "{\"chapter\": \"First\", \"chapter\": \"Second\"}"},
+            {Chapter.class, "{}"},
+            {Chapter.class, "null"},
+            {
+                ForeignModule.class,
+                "{\"id\": \"F1\", \"title\": \"Foreign\", \"totalhours\": 150, \"competencies\": [\"c\"], "
+                + "\"responsible\": \"X\", \"sources\": [{\"source\": \"Theirs\"}]}"
+            },
+            {ForeignModule.class, "{\"id\": \"F1\", \"totalhours\": null}"},
+            {ForeignModule.class, "{\"id\": \"F1\", \"totalhours\": 1, \"totalhours\": 2, \"extra\": true}"},
+            {ForeignModule.class, "{\"id\": \"F1\", \"totalhours\": \"12\"}"},
+            {ForeignModule.class, "{\"id\": \"F1\", \"totalhours\": \"many\"}"},
+            {
+                Match.class,
+                "{\"ourID\": \"M01\", \"theirID\": \"F1\", \"hours\": 90, \"competencyMatch\": {\"0\": 1, \"2\": 3}}"
+            },
+            {Match.class, "{\"competencyMatch\": {}, \"hours\": 5, \"theirID\": \"F1\", \"ourID\": \"M01\"}"},
+            {Match.class, "{\"ourID\": \"M01\", \"hours\": null}"},
+            {Match.class, "{\"ourID\": \"M01\", \"ourID\": \"M02\", \"unknown\": [1, 2, 3]}"},
+            {
+                MetaModule.class,
+                "{\"module\": \"M01\", \"semester\": 1, \"sempos\": 2, \"type\": \"Pflicht\", "
+                + "\"frequency\": \"jedes Jahr\", \"weight\": 5, \"duration\": 1}"
+            },
+            {
+                MetaModule.class,
+                "{\"module\": \"M01\", \"semester\": 5, \"specialization\": \"Data Science\", "
+                + "\"specializationnumber\": 1, \"contacthoursfactor\": \"1.5\", \"sempos\": null}"
+            },
+            {MetaModule.class, "{\"module\": \"M01\", \"weight\": null}"},
+            {MetaModule.class, "{\"module\": \"M01\", \"duration\": 1, \"duration\": 2, \"remark\": \"x\"}"},
+            {MetaModuleGuide.class, TestRoot.guide(6, List.of("Extra"))},
+            {MetaModuleGuide.class, "{\"subject\": \"Informatik\", \"startquarter\": null}"},
+            {MetaModuleGuide.class, "{\"mode\": \"DUAL\", \"mode\": \"FULLTIME\", \"unknown\": null}"},
+            {MetaModuleGuide.class, "{\"mode\": \"UNKNOWN\", \"generallanguage\": \"ENGLISH\", \"signature\": null}"},
+            {
+                RawModule.class,
+                """
+                {
+                    "title": "Modul & Co $$\\\\llb{}$$",
+                    "responsible": "Prof. X",
+                    "teachers": ["A", "B"],
+                    "teachinglanguage": "GERMAN",
+                    "additionalteachinglanguages": ["ENGLISH"],
+                    "descriptionlanguage": "ENGLISH",
+                    "ects": 5,
+                    "contacthours": 60,
+                    "homehours": 90,
+                    "examination": "Klausur",
+                    "keywords": ["k", "50%"],
+                    "preconditions": ["M00"],
+                    "recommendations": ["!Freitext"],
+                    "usability": [],
+                    "competenciespreface": "<b>",
+                    "competencies": ["Kompetenz ~ 1"],
+                    "teachingmethods": ["Vorlesung"],
+                    "teachingpostface": "Ende",
+                    "content": [{"chapter": "Kapitel", "sections": ["a", "b"]}, {"chapter": "!Hinweis"}],
+                    "requiredliterature": ["Key1", "!Skript"],
+                    "optionalliterature": [],
+                    "comment": "Kommentar"
+                }
+                """
+            },
+            {RawModule.class, "{\"comment\": \"last\", \"title\": \"first\", \"ects\": 5}"},
+            {RawModule.class, "{\"title\": \"T\", \"ects\": null}"},
+            {RawModule.class, "{\"title\": \"T\", \"homehours\": null, \"homehours\": 3}"},
+            {
+                RawModule.class,
+                "{\"title\": \"One\", \"title\": \"Two\", \"content\": [{\"chapter\": \"C\", \"x\": 1}]}"
+            },
+            {RawModule.class, "{\"title\": \"T\", \"version\": 2, \"history\": [{\"title\": \"Old\"}]}"},
+            {RawModule.class, "{\"title\": \"T\", \"contacthours\": 1.5}"}
+        };
+    }
+
+    @Test(dataProvider="roundTripData")
+    public void roundTripTest(final Class<?> type, final String json) {
+        final Object expected =
+            ModelTypeAdapterFactoryTest.fromJson(ModelTypeAdapterFactoryTest.REFLECTIVE, json, type);
+        final Object actual = ModelTypeAdapterFactoryTest.fromJson(Main.GSON, json, type);
+        if (expected instanceof final JsonParseException exception) {
+            Assert.assertTrue(actual instanceof JsonParseException, String.valueOf(actual));
+            Assert.assertEquals(actual.getClass(), exception.getClass());
+            Assert.assertEquals(((JsonParseException)actual).getMessage(), exception.getMessage());
+            return;
+        }
+        Assert.assertEquals(actual, expected);
+        final String written = Main.GSON.toJson(actual, type);
+        Assert.assertEquals(written, ModelTypeAdapterFactoryTest.REFLECTIVE.toJson(expected, type));
+        Assert.assertEquals(Main.GSON.fromJson(written, type), expected);
+    }
+
+}
@@ -1,10 +1,74 @@
 package moduleguidehelper.io;
 
+import java.io.*;
+import java.util.*;
+import java.util.regex.*;
+
 import org.testng.*;
 import org.testng.annotations.*;
 
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
 public class ModuleGuideLaTeXWriterTest {
 
+    private static final String[] FUZZ_ALPHABET = {
+        "$", "$", "$", "\\", "\"", "\"", "&", "%", "{", "}", "_", "#", "~", "^", "a", "b", " ", "\u00a0", "\u202f",
+        "\uD83D\uDE00"
+    };
+
+    private static final Pattern REFERENCE_ESCAPE_PATTERN = Pattern.compile("\\$\\$([^\\$]|\\$[^\\$])+\\$\\$");
+
+    private static String referenceEscapeForLaTeX(final String text, final boolean considerLaTeXCode) {
+        if (text == null) {
+            return "";
+        }
+        final Matcher matcher = ModuleGuideLaTeXWriterTest.REFERENCE_ESCAPE_PATTERN.matcher(text);
+        final List<Integer> indices = new LinkedList<Integer>();
+        while (matcher.find()) {
+            indices.add(matcher.start());
+            indices.add(matcher.end());
+        }
+        indices.add(text.length());
+        final StringBuilder result = new StringBuilder();
+        boolean escape = true;
+        int from = 0;
+        for (final Integer index : indices) {
+            if (escape) {
+                result.append(
+                    text
+                    .substring(from, index)
+                    .replaceAll("\\\\", "\\\\textbackslash")
+                    .replaceAll("([&\\$%\\{\\}_#])", "\\\\$1")
+                    .replaceAll("~", "\\\\textasciitilde{}")
+                    .replaceAll("\\^", "\\\\textasciicircum{}")
+                    .replaceAll("\\\\textbackslash", "\\\\textbackslash{}")
+                    .replaceAll("([^\\\\])\"", "$1''")
+                    .replaceAll("^\"", "''")
+                    .replaceAll("\u00a0", "~")
+                    .replaceAll("\u202f", "\\,")
+                );
+            } else if (considerLaTeXCode) {
+                result.append(text.substring(from + 2, index - 2));
+            }
+            from = index;
+            escape = !escape;
+        }
+        return result.toString();
+    }
+
+    private static String write(
+        final ModuleGuide guide,
+        final ModuleRepository modules,
+        final boolean parallel
+    ) throws IOException {
+        final StringWriter content = new StringWriter();
+        try (BufferedWriter writer = new BufferedWriter(content)) {
+            new ModuleGuideLaTeXWriter(guide).setParallel(parallel).write(modules, writer);
+        }
+        return content.toString();
+    }
+
     @DataProvider
     public Object[][] escapeForLaTeXData() {
         return new Object[][] {
@@ -34,9 +98,55 @@ public class ModuleGuideLaTeXWriterTest {
         };
     }
 
+    @DataProvider
+    public Object[][] escapeForLaTeXReferenceData() {
+        final Random random = new Random(42);
+        final List<Object[]> result = new ArrayList<Object[]>();
+        for (final Object[] example : this.escapeForLaTeXData()) {
+            result.add(new Object[] {example[0]});
+        }
+        result.add(new Object[] {"a\"\"\"b \"\" \\\"x\" $$a\"$$\"q"});
+        result.add(new Object[] {"$$a$b$$c$$$d$$$$e$"});
+        for (int i = 0; i < 5000; i++) {
+            final StringBuilder text = new StringBuilder();
+            final int length = random.nextInt(25);
+            for (int j = 0; j < length; j++) {
+                final String[] alphabet = ModuleGuideLaTeXWriterTest.FUZZ_ALPHABET;
+                text.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            result.add(new Object[] {text.toString()});
+        }
+        return result.toArray(new Object[result.size()][]);
+    }
+
+    @Test(dataProvider="escapeForLaTeXReferenceData")
+    public void escapeForLaTeXReferenceTest(final String text) {
+        for (final boolean considerLaTeXCode : new boolean[] {true, false}) {
+            Assert.assertEquals(
+                ModuleGuideLaTeXWriter.escapeForLaTeX(text, considerLaTeXCode),
+                ModuleGuideLaTeXWriterTest.referenceEscapeForLaTeX(text, considerLaTeXCode)
+            );
+        }
+    }
+
     @Test(dataProvider="escapeForLaTeXData")
     public void escapeForLaTeXTest(final String text, final String expected) {
         Assert.assertEquals(ModuleGuideLaTeXWriter.escapeForLaTeX(text), expected);
     }
 
+    @Test
+    public void parallelWriteTest() throws IOException {
+        final File root = TestRoot.create(24, "guide.json");
+        try {
+            final ModuleRepository modules = new ModuleRepository(root.toPath().resolve("modules").toFile());
+            final ModuleGuide guide = Main.parseModuleGuide(root.toPath().resolve("guide.json").toFile(), modules);
+            Assert.assertEquals(guide.modules().size(), 24);
+            final String sequential = ModuleGuideLaTeXWriterTest.write(guide, modules, false);
+            Assert.assertTrue(sequential.contains("Modul 23"));
+            Assert.assertEquals(ModuleGuideLaTeXWriterTest.write(guide, modules, true), sequential);
+        } finally {
+            TestRoot.delete(root);
+        }
+    }
+
 }
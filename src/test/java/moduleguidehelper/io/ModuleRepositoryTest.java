@@ -0,0 +1,99 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class ModuleRepositoryTest {
+
+    private File modulesFolder;
+
+    @BeforeMethod
+    public void createModulesFolder() throws IOException {
+        this.modulesFolder = Files.createTempDirectory("modules").toFile();
+    }
+
+    @AfterMethod
+    public void deleteModulesFolder() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.modulesFolder.toPath())) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void emptyModuleTest() throws IOException {
+        Files.writeString(this.modulesFolder.toPath().resolve("m01.json"), "");
+        final ModuleRepository repository = new ModuleRepository(this.modulesFolder);
+        Assert.assertTrue(repository.contains("M01"));
+        Assert.assertNull(repository.get("M01"));
+    }
+
+    @Test
+    public void exactFileNameTest() throws IOException {
+        this.writeModule("Foo.json", "Foo");
+        final ModuleRepository repository = new ModuleRepository(this.modulesFolder);
+        Assert.assertTrue(repository.contains("Foo"));
+        Assert.assertTrue(repository.getFile("Foo").exists());
+        Assert.assertEquals(repository.get("Foo").title(), "Foo");
+    }
+
+    @Test
+    public void getCachesModulesTest() throws IOException {
+        this.writeModule("m01.json", "First");
+        final ModuleRepository repository = new ModuleRepository(this.modulesFolder);
+        final RawModule module = repository.get("M01");
+        Assert.assertEquals(module.title(), "First");
+        Files.delete(this.modulesFolder.toPath().resolve("m01.json"));
+        Assert.assertSame(repository.get("m01"), module);
+        Assert.assertTrue(repository.contains("M01"));
+    }
+
+    @Test
+    public void lowerCaseFileNameTest() throws IOException {
+        this.writeModule("m02.json", "Second");
+        final ModuleRepository repository = new ModuleRepository(this.modulesFolder);
+        Assert.assertEquals(repository.getFile("M02").getName(), "m02.json");
+        Assert.assertEquals(repository.get("M02").title(), "Second");
+    }
+
+    @Test
+    public void missingModuleTest() {
+        final ModuleRepository repository = new ModuleRepository(this.modulesFolder);
+        Assert.assertFalse(repository.contains("M03"));
+        Assert.assertEquals(repository.getFile("M03").getName(), "m03.json");
+        Assert.assertThrows(FileNotFoundException.class, () -> repository.get("M03"));
+    }
+
+    @Test
+    public void openTest() throws IOException {
+        final File root = TestRoot.create(2);
+        try {
+            final Path cache = root.toPath().resolve(Main.CACHE);
+            final ModuleRepository uncached = ModuleRepository.open(root.toPath().resolve("modules").toFile());
+            Assert.assertEquals(uncached.get("M01").title(), "Modul 1 & Co $$\\llb{}$$");
+            uncached.saveSnapshot();
+            Assert.assertFalse(cache.toFile().exists());
+            Files.createDirectories(cache);
+            final ModuleRepository cached = ModuleRepository.open(root.toPath().resolve("modules").toFile());
+            Assert.assertEquals(cached.get("M01").title(), "Modul 1 & Co $$\\llb{}$$");
+            cached.saveSnapshot();
+            Assert.assertTrue(cache.resolve("modules.bin").toFile().exists());
+        } finally {
+            TestRoot.delete(root);
+        }
+    }
+
+    private void writeModule(final String fileName, final String title) throws IOException {
+        Files.writeString(this.modulesFolder.toPath().resolve(fileName), String.format("{\"title\": \"%s\"}", title));
+    }
+
+}
@@ -0,0 +1,150 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import moduleguidehelper.*;
+import moduleguidehelper.model.*;
+
+public class ModuleSnapshotTest {
+
+    private File module;
+
+    private File root;
+
+    @BeforeMethod
+    public void createRoot() throws IOException {
+        this.root = Files.createTempDirectory("root").toFile();
+        final Path modules = this.root.toPath().resolve("modules");
+        Files.createDirectories(modules);
+        this.module = modules.resolve("m01.json").toFile();
+    }
+
+    @AfterMethod
+    public void deleteRoot() throws IOException {
+        TestRoot.delete(this.root);
+    }
+
+    @DataProvider
+    public Object[][] corruptData() {
+        return new Object[][] {
+            {new byte[0]},
+            {"not a snapshot".getBytes()},
+            {new byte[] {(byte)0xAC, (byte)0xED, 0, 5, 0, 0, 0}}
+        };
+    }
+
+    @Test(dataProvider="corruptData")
+    public void corruptTest(final byte[] content) throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        Files.write(this.getSnapshotFile(), content);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        Assert.assertEquals(snapshot.read(this.module, RawModule.class).title(), "AAAA");
+        snapshot.save();
+        this.writeModule("BBBB", 1_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "AAAA");
+    }
+
+    @Test
+    public void hitTest() throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        Assert.assertEquals(snapshot.read(this.module, RawModule.class).title(), "AAAA");
+        snapshot.save();
+        this.writeModule("BBBB", 1_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "AAAA");
+    }
+
+    @DataProvider
+    public Object[][] invalidLengthData() {
+        return new Object[][] {{-1}, {Integer.MAX_VALUE}};
+    }
+
+    @Test(dataProvider="invalidLengthData")
+    public void invalidLengthTest(final int count) throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        snapshot.read(this.module, RawModule.class);
+        snapshot.save();
+        final String schema;
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(this.getSnapshotFile()))) {
+            input.readUTF();
+            schema = input.readUTF();
+        }
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(this.getSnapshotFile()))) {
+            output.writeUTF(Main.VERSION);
+            output.writeUTF(schema);
+            output.writeInt(count);
+        }
+        this.writeModule("BBBB", 1_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "BBBB");
+    }
+
+    @Test
+    public void lastModifiedTest() throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        snapshot.read(this.module, RawModule.class);
+        snapshot.save();
+        this.writeModule("BBBB", 2_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "BBBB");
+    }
+
+    @Test
+    public void schemaTest() throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        snapshot.read(this.module, RawModule.class);
+        snapshot.save();
+        final byte[] entries;
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(this.getSnapshotFile()))) {
+            Assert.assertEquals(input.readUTF(), Main.VERSION);
+            input.readUTF();
+            entries = input.readAllBytes();
+        }
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(this.getSnapshotFile()))) {
+            output.writeUTF(Main.VERSION);
+            output.writeUTF("{moduleguidehelper.model.RawModule=title:java.lang.String}");
+            output.write(entries);
+        }
+        this.writeModule("BBBB", 1_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "BBBB");
+    }
+
+    @Test
+    public void sizeTest() throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        snapshot.read(this.module, RawModule.class);
+        snapshot.save();
+        this.writeModule("BBBBB", 1_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "BBBBB");
+    }
+
+    @Test
+    public void truncatedTest() throws IOException {
+        this.writeModule("AAAA", 1_000_000L);
+        final ModuleSnapshot snapshot = ModuleSnapshot.load(this.root);
+        snapshot.read(this.module, RawModule.class);
+        snapshot.save();
+        final byte[] content = Files.readAllBytes(this.getSnapshotFile());
+        Files.write(this.getSnapshotFile(), Arrays.copyOf(content, content.length - 1));
+        this.writeModule("BBBB", 1_000_000L);
+        Assert.assertEquals(ModuleSnapshot.load(this.root).read(this.module, RawModule.class).title(), "BBBB");
+    }
+
+    private Path getSnapshotFile() throws IOException {
+        return Main.getCacheDirectory(this.root).toPath().resolve("modules.bin");
+    }
+
+    private void writeModule(final String title, final long lastModified) throws IOException {
+        Files.writeString(this.module.toPath(), String.format("{\"title\": \"%s\"}", title));
+        Files.setLastModifiedTime(this.module.toPath(), FileTime.fromMillis(lastModified));
+    }
+
+}
@@ -0,0 +1,66 @@
+package moduleguidehelper.io;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.util.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+public class OutputFilesTest {
+
+    private static byte[] bytes(final int length) {
+        final byte[] result = new byte[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (byte)(i * 31);
+        }
+        return result;
+    }
+
+    @DataProvider
+    public Object[][] writeData() {
+        final byte[] large = OutputFilesTest.bytes(20000);
+        final byte[] lastByteChanged = large.clone();
+        lastByteChanged[lastByteChanged.length - 1]++;
+        final byte[] firstByteChanged = large.clone();
+        firstByteChanged[0]++;
+        return new Object[][] {
+            {new byte[0], new byte[0], false},
+            {new byte[0], new byte[] {1}, true},
+            {large, large.clone(), false},
+            {large, lastByteChanged, true},
+            {large, firstByteChanged, true},
+            {large, Arrays.copyOf(large, large.length - 1), true},
+            {large, Arrays.copyOf(large, large.length + 1), true}
+        };
+    }
+
+    @Test
+    public void writeNewFileTest() throws IOException {
+        final File file = File.createTempFile("output", ".txt");
+        file.delete();
+        try {
+            Assert.assertTrue(OutputFiles.writeIfChanged(file, "content"));
+            Assert.assertEquals(Files.readString(file.toPath()), "content");
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(dataProvider="writeData")
+    public void writeTest(final byte[] existing, final byte[] bytes, final boolean changed) throws IOException {
+        final File file = File.createTempFile("output", ".txt");
+        try {
+            Files.write(file.toPath(), existing);
+            final FileTime modified = FileTime.fromMillis(0);
+            Files.setLastModifiedTime(file.toPath(), modified);
+            Assert.assertEquals(OutputFiles.writeIfChanged(file, bytes), changed);
+            Assert.assertTrue(Arrays.equals(Files.readAllBytes(file.toPath()), bytes));
+            Assert.assertEquals(Files.getLastModifiedTime(file.toPath()).equals(modified), !changed);
+        } finally {
+            file.delete();
+        }
+    }
+
+}
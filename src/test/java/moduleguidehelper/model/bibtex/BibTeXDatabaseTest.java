@@ -0,0 +1,142 @@
+package moduleguidehelper.model.bibtex;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+public class BibTeXDatabaseTest {
+
+    private static final List<String> KEYS = List.of("a", "b", "c", "d", "e", "x", "s1", "s2", "s3");
+
+    private static BibTeXDatabase database() {
+        return new BibTeXDatabase(
+            List.of(
+                BibTeXDatabaseTest.entry("book", "A"),
+                new BibTeXString("s1", new BibTeXText("one")),
+                BibTeXDatabaseTest.entry("article", "b"),
+                new BibTeXComment("comment"),
+                new BibTeXCompoundObject(List.of(new BibTeXComment("c")), BibTeXDatabaseTest.entry("misc", "C")),
+                new BibTeXString("S2", new BibTeXText("two")),
+                BibTeXDatabaseTest.entry("book", "d")
+            )
+        );
+    }
+
+    private static BibTeXEntry entry(final String type, final String identifier) {
+        return new BibTeXEntry(type, identifier, Map.of("title", new BibTeXText(identifier)));
+    }
+
+    private static void mutation(
+        final List<Object[]> result,
+        final String name,
+        final Consumer<List<BibTeXObject>> mutation
+    ) {
+        result.add(new Object[] {name, mutation});
+    }
+
+    @Test
+    public void duplicateLookupTest() {
+        final BibTeXDatabase database = BibTeXDatabaseTest.database();
+        database.add(BibTeXDatabaseTest.entry("misc", "a"));
+        database.add(new BibTeXString("S1", new BibTeXText("redefined")));
+        Assert.assertEquals(database.getEntry("a"), Optional.of(BibTeXDatabaseTest.entry("book", "A")));
+        Assert.assertEquals(database.getString("s1"), Optional.of(new BibTeXString("S1", new BibTeXText("redefined"))));
+        database.remove(0);
+        Assert.assertEquals(database.getEntry("a"), Optional.of(BibTeXDatabaseTest.entry("misc", "a")));
+        Assert.assertEquals(database.getTypeCounts(), Map.of("article", 1, "book", 1, "misc", 2));
+    }
+
+    @Test
+    public void lookupTest() {
+        final BibTeXDatabase database = BibTeXDatabaseTest.database();
+        Assert.assertTrue(database.containsEntry("a"));
+        Assert.assertTrue(database.containsEntry("B"));
+        Assert.assertTrue(database.containsEntry("c"));
+        Assert.assertFalse(database.containsEntry("s1"));
+        Assert.assertEquals(database.getEntry("D"), Optional.of(BibTeXDatabaseTest.entry("book", "d")));
+        Assert.assertEquals(database.getEntry("x"), Optional.empty());
+        Assert.assertEquals(database.getString("s2"), Optional.of(new BibTeXString("S2", new BibTeXText("two"))));
+        Assert.assertEquals(database.getString("a"), Optional.empty());
+        Assert.assertEquals(database.getTypeCounts(), Map.of("article", 1, "book", 2, "misc", 1));
+    }
+
+    @DataProvider
+    public Object[][] mutationData() {
+        final BibTeXObject x = BibTeXDatabaseTest.entry("article", "x");
+        final BibTeXObject s3 = new BibTeXString("s3", new BibTeXText("three"));
+        final List<Object[]> result = new ArrayList<Object[]>();
+        BibTeXDatabaseTest.mutation(result, "add", list -> list.add(x));
+        BibTeXDatabaseTest.mutation(result, "add at index", list -> list.add(1, s3));
+        BibTeXDatabaseTest.mutation(result, "addAll", list -> list.addAll(List.of(x, s3)));
+        BibTeXDatabaseTest.mutation(result, "addAll at index", list -> list.addAll(0, List.of(x, s3)));
+        BibTeXDatabaseTest.mutation(result, "remove at index", list -> list.remove(0));
+        BibTeXDatabaseTest.mutation(
+            result,
+            "remove object",
+            list -> list.remove(BibTeXDatabaseTest.entry("article", "b"))
+        );
+        BibTeXDatabaseTest.mutation(result, "removeAll", list -> list.removeAll(List.of(list.get(0), list.get(1))));
+        BibTeXDatabaseTest.mutation(result, "retainAll", list -> list.retainAll(List.of(list.get(2))));
+        BibTeXDatabaseTest.mutation(result, "removeIf", list -> list.removeIf(o -> o instanceof BibTeXEntry));
+        BibTeXDatabaseTest.mutation(result, "set", list -> list.set(0, x));
+        BibTeXDatabaseTest.mutation(result, "set string", list -> list.set(1, s3));
+        BibTeXDatabaseTest.mutation(result, "replaceAll", list -> list.replaceAll(o -> o == list.get(2) ? x : o));
+        BibTeXDatabaseTest.mutation(result, "sort", list -> list.sort(Comparator.comparing(Object::toString)));
+        BibTeXDatabaseTest.mutation(result, "clear", List::clear);
+        BibTeXDatabaseTest.mutation(result, "clear and add", list -> {
+            list.clear();
+            list.add(x);
+        });
+        BibTeXDatabaseTest.mutation(result, "swap", list -> Collections.swap(list, 0, 2));
+        BibTeXDatabaseTest.mutation(result, "iterator remove", list -> {
+            final Iterator<BibTeXObject> iterator = list.iterator();
+            iterator.next();
+            iterator.remove();
+        });
+        BibTeXDatabaseTest.mutation(result, "listIterator set", list -> {
+            final ListIterator<BibTeXObject> iterator = list.listIterator();
+            iterator.next();
+            iterator.set(x);
+            iterator.next();
+            iterator.set(s3);
+        });
+        BibTeXDatabaseTest.mutation(result, "listIterator add", list -> {
+            final ListIterator<BibTeXObject> iterator = list.listIterator(2);
+            iterator.add(x);
+            iterator.add(s3);
+        });
+        BibTeXDatabaseTest.mutation(result, "subList set", list -> list.subList(1, 4).set(1, x));
+        BibTeXDatabaseTest.mutation(result, "subList listIterator set", list -> {
+            final ListIterator<BibTeXObject> iterator = list.subList(2, 5).listIterator();
+            iterator.next();
+            iterator.set(s3);
+        });
+        BibTeXDatabaseTest.mutation(result, "nested subList set", list -> list.subList(1, 5).subList(1, 3).set(0, x));
+        BibTeXDatabaseTest.mutation(result, "subList add", list -> list.subList(1, 3).add(x));
+        BibTeXDatabaseTest.mutation(result, "subList remove", list -> list.subList(1, 3).remove(0));
+        BibTeXDatabaseTest.mutation(result, "subList clear", list -> list.subList(0, 3).clear());
+        BibTeXDatabaseTest.mutation(
+            result,
+            "subList sort",
+            list -> list.subList(0, 5).sort(Comparator.comparing(Object::toString))
+        );
+        return result.toArray(new Object[result.size()][]);
+    }
+
+    @Test(dataProvider="mutationData")
+    public void mutationTest(final String name, final Consumer<List<BibTeXObject>> mutation) {
+        final BibTeXDatabase database = BibTeXDatabaseTest.database();
+        database.getTypeCounts();
+        mutation.accept(database);
+        final BibTeXDatabase expected = new BibTeXDatabase(new ArrayList<BibTeXObject>(database));
+        for (final String key : BibTeXDatabaseTest.KEYS) {
+            Assert.assertEquals(database.containsEntry(key), expected.containsEntry(key), name + " " + key);
+            Assert.assertEquals(database.getEntry(key), expected.getEntry(key), name + " " + key);
+            Assert.assertEquals(database.getString(key), expected.getString(key), name + " " + key);
+        }
+        Assert.assertEquals(database.getTypeCounts(), expected.getTypeCounts(), name);
+    }
+
+}
@@ -0,0 +1,73 @@
+package moduleguidehelper.store;
+
+import java.io.*;
+import java.nio.file.*;
+
+import org.testng.*;
+import org.testng.annotations.*;
+
+import moduleguidehelper.*;
+
+public class PDFBuildSchedulerTest {
+
+    private static final String BCF =
+        """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <bcf:controlfile version="3.10" bltxversion="3.20" xmlns:bcf="https://sourceforge.net/projects/biblatex">
+          <bcf:bibdata section="0">
+            <bcf:datasource type="file" datatype="bibtex" glob="false">%s</bcf:datasource>
+          </bcf:bibdata>
+          <bcf:section number="0">
+            <bcf:citekey order="1" intorder="1">Key1</bcf:citekey>
+          </bcf:section>
+        </bcf:controlfile>
+        """;
+
+    @Test
+    public void biberInputsTest() throws IOException {
+        final File root = TestRoot.create(0);
+        try {
+            final PDFJob job = new PDFJob("guide", root, root.toPath().resolve("jobs").toFile());
+            final Path jobDirectory = job.jobDirectory().toPath();
+            Files.createDirectories(jobDirectory);
+            Files.writeString(
+                jobDirectory.resolve("guide.bcf"),
+                String.format(PDFBuildSchedulerTest.BCF, "literature.bib")
+            );
+            Files.writeString(jobDirectory.resolve("guide.bbl"), "");
+            final String inputs = PDFBuildScheduler.hashBiberInputs(job);
+            Assert.assertFalse(PDFBuildScheduler.isBiberUpToDate(job, inputs));
+            Files.writeString(jobDirectory.resolve("guide" + PDFBuildScheduler.BIBER_INPUTS), inputs);
+            Assert.assertTrue(PDFBuildScheduler.isBiberUpToDate(job, PDFBuildScheduler.hashBiberInputs(job)));
+            final Path literature = root.toPath().resolve("literature.bib");
+            Files.writeString(literature, Files.readString(literature).replace("Doe, Jane", "Doe, John"));
+            Assert.assertFalse(PDFBuildScheduler.isBiberUpToDate(job, PDFBuildScheduler.hashBiberInputs(job)));
+        } finally {
+            TestRoot.delete(root);
+        }
+    }
+
+    @Test
+    public void biberInputsRelativeDatasourceTest() throws IOException {
+        final File root = TestRoot.create(0);
+        try {
+            final File singlePDFs = root.toPath().resolve(Main.SINGLE_PDFS).toFile();
+            final PDFJob job = new PDFJob("m00", singlePDFs, root.toPath().resolve("jobs").toFile());
+            final Path jobDirectory = job.jobDirectory().toPath();
+            Files.createDirectories(jobDirectory);
+            singlePDFs.mkdir();
+            Files.writeString(
+                jobDirectory.resolve("m00.bcf"),
+                String.format(PDFBuildSchedulerTest.BCF, "../literature.bib")
+            );
+            final String inputs = PDFBuildScheduler.hashBiberInputs(job);
+            Files.writeString(root.toPath().resolve("literature.bib"), "@misc{Key1, year = 2021}\n");
+            Assert.assertNotEquals(PDFBuildScheduler.hashBiberInputs(job), inputs);
+            Files.writeString(jobDirectory.resolve("m00.bcf"), String.format(PDFBuildSchedulerTest.BCF, "other.bib"));
+            Assert.assertTrue(PDFBuildScheduler.hashBiberInputs(job).endsWith(";other.bib="));
+        } finally {
+            TestRoot.delete(root);
+        }
+    }
+
+}